@@ -2,8 +2,12 @@ package com.ukrposhta.project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// the reactive API builds its own pool; an auto-configured one would replace the JDBC datasource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class ProjectApplication {
 
 	public static void main(String[] args) {
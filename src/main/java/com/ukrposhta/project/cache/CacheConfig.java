@@ -0,0 +1,47 @@
+package com.ukrposhta.project.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(EntityCacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(EntityCacheProperties properties) {
+        var cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(EntityCacheProperties.CACHE_NAMES.stream()
+                .map(name -> {
+                    var spec = properties.specFor(name);
+                    if (!spec.isEnabled()) {
+                        log.info("Cache {} is disabled", name);
+                        return new NoOpCache(name);
+                    }
+                    var builder = Caffeine.newBuilder()
+                            .expireAfterWrite(spec.getTtl())
+                            .recordStats();
+                    if (spec.getMaximumWeight() != null) {
+                        builder.maximumWeight(spec.getMaximumWeight().toBytes()).weigher(CacheConfig::weigh);
+                    } else {
+                        builder.maximumSize(spec.getMaximumSize());
+                    }
+                    return new CaffeineCache(name, builder.build());
+                })
+                .toList());
+        return cacheManager;
+    }
+
+    private static int weigh(Object key, Object value) {
+        return value instanceof ResponseCache.CachedResponse response ? response.weight() : 1;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ukrposhta.project.cache;
+
+public final class CacheNames {
+
+    public static final String PROGRAMMER_BREAKDOWN = "programmerBreakdown";
+    public static final String MANAGER_RANKING = "managerRanking";
+    public static final String RESPONSES = "responses";
+
+    private CacheNames() {
+    }
+}
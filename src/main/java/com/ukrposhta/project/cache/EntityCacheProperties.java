@@ -0,0 +1,43 @@
+package com.ukrposhta.project.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-cache settings under {@code app.cache.specs.<cacheName>}.
+ * Every name in {@link CacheNames} gets a cache; names without a spec use the defaults.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class EntityCacheProperties {
+
+    public static final List<String> CACHE_NAMES = List.of(
+            CacheNames.PROGRAMMER_BREAKDOWN, CacheNames.MANAGER_RANKING, CacheNames.RESPONSES);
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        /**
+         * Bounds the cache by the size of its entries instead of their number; only entries
+         * that know their size ({@link ResponseCache}) weigh more than one.
+         */
+        private DataSize maximumWeight;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ukrposhta.project.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON bodies of the entity GET endpoints, keyed by endpoint and entity id. A hit is
+ * written out as is, without loading or serializing anything.
+ * <p>
+ * Each entry keeps the ETag it was rendered for and is only served for that ETag. A miss is
+ * rendered by a loader that reads the database in the transaction that read the version, so a
+ * body is never older than the ETag it is stored under; concurrent requests are coalesced before
+ * that transaction is opened, by the caller. Writes therefore evict nothing: an entry whose
+ * entity changed or was deleted is never served again and is replaced on the next render or
+ * ages out of the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    public static final String MANAGER = "manager";
+    public static final String MANAGER_PROJECTS = "managerProjects";
+    public static final String PROGRAMMER = "programmer";
+    public static final String PROGRAMMER_PROJECTS = "programmerProjects";
+    public static final String PROJECT = "project";
+    public static final String PROJECT_MANAGERS = "projectManagers";
+    public static final String PROJECT_PROGRAMMERS = "projectProgrammers";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    public byte[] get(String endpoint, UUID id, String etag, Supplier<?> loader) {
+        var cache = cacheManager.getCache(CacheNames.RESPONSES);
+        var key = new Key(endpoint, id);
+
+        var cached = cache.get(key, CachedResponse.class);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached.body();
+        }
+
+        var body = serialize(loader.get());
+        cache.put(key, new CachedResponse(etag, body));
+        return body;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Key(String endpoint, UUID id) {
+    }
+
+    record CachedResponse(String etag, byte[] body) {
+
+        int weight() {
+            return body.length + etag.length();
+        }
+    }
+}
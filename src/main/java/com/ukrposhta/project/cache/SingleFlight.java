@@ -0,0 +1,81 @@
+package com.ukrposhta.project.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and callers that
+ * arrive while it is in flight wait for it and share its result, or its exception. Nothing is
+ * kept once the load completes; caching is left to the caches in front of the load.
+ * <p>
+ * Per flight name it publishes {@code singleflight.loads} (loads actually run),
+ * {@code singleflight.suppressed} (callers served by another caller's load) and the
+ * {@code singleflight.waiters} gauge (callers waiting right now).
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private static final String NAME_TAG = "name";
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> waiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String name, Object key, Supplier<T> loader) {
+        var flightKey = new Key(name, key);
+        var flight = new CompletableFuture<>();
+        var existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return (T) await(name, existing);
+        }
+
+        meterRegistry.counter("singleflight.loads", NAME_TAG, name).increment();
+        try {
+            var value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object await(String name, CompletableFuture<Object> flight) {
+        meterRegistry.counter("singleflight.suppressed", NAME_TAG, name).increment();
+        var waiting = waiters.computeIfAbsent(name, this::registerWaiters);
+        waiting.incrementAndGet();
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private AtomicInteger registerWaiters(String name) {
+        return meterRegistry.gauge("singleflight.waiters", Tags.of(NAME_TAG, name), new AtomicInteger());
+    }
+
+    private record Key(String name, Object key) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.ukrposhta.project.controllers;
+
+import com.ukrposhta.project.dto.*;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.services.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/programmers/breakdown")
+    public ResponseEntity<List<ProgrammerBreakdownDTO>> getProgrammerBreakdown() {
+        return ResponseEntity.ok(analyticsService.getProgrammerBreakdown());
+    }
+
+    @GetMapping("/managers/ranking")
+    public ResponseEntity<List<ManagerRankDTO>> getManagerRanking(@RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(analyticsService.getManagerRanking(
+                Math.max(1, Math.min(limit, AnalyticsService.MAX_LIMIT))));
+    }
+
+    @GetMapping("/projects/without/{skillLevel}")
+    public ResponseEntity<PageDTO<ProjectSummaryDTO>> getProjectsWithoutSkillLevel(@PathVariable SkillLevel skillLevel,
+                                                                                   @RequestParam(required = false) String after,
+                                                                                   @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(analyticsService.getProjectsWithoutSkillLevel(skillLevel, after, size));
+    }
+
+    @GetMapping("/managers/unassigned")
+    public ResponseEntity<PageDTO<ManagerSummaryDTO>> getUnassignedManagers(@RequestParam(required = false) String after,
+                                                                            @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(analyticsService.getUnassignedManagers(after, size));
+    }
+
+    @GetMapping("/programmers/unassigned")
+    public ResponseEntity<PageDTO<ProgrammerSummaryDTO>> getUnassignedProgrammers(@RequestParam(required = false) String after,
+                                                                                  @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(analyticsService.getUnassignedProgrammers(after, size));
+    }
+}
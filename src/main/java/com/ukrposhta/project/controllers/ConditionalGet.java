@@ -0,0 +1,71 @@
+package com.ukrposhta.project.controllers;
+
+import com.ukrposhta.project.cache.ResponseCache;
+import com.ukrposhta.project.cache.SingleFlight;
+import com.ukrposhta.project.datasource.RoutingContext;
+import com.ukrposhta.project.dto.EntityVersionDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.services.VersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Answers If-None-Match / If-Modified-Since on the entity endpoints from the entity's version
+ * alone, and sets ETag and Last-Modified on full responses. Ids that {@link KnownIds} rules out
+ * are answered with 404 before a transaction is opened.
+ */
+@Component
+@RequiredArgsConstructor
+class ConditionalGet {
+
+    private final VersionService versionService;
+    private final ResponseCache responseCache;
+    private final SingleFlight singleFlight;
+    private final KnownIds knownIds;
+
+    <T> ResponseEntity<T> respond(EntityType type, String id, WebRequest request, Supplier<T> loader) {
+        knownIds.require(type, id);
+        return versionService.getIfModified(type, id, notModified(request), version -> loader.get())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+    }
+
+    /**
+     * Like {@link #respond}, with the body served from the {@link ResponseCache} entry of
+     * {@code endpoint} for the current ETag. The loader runs in the transaction that read the
+     * version and must read the database, not a cache.
+     * <p>
+     * Concurrent requests for the same endpoint and id share one read of the version and body,
+     * so only the first of them opens a transaction; each then answers its own conditional
+     * headers from the shared version. A client pinned to the primary reads on its own, as a
+     * read already in flight may have started before its write committed.
+     */
+    ResponseEntity<byte[]> respondCached(EntityType type, String endpoint, String id, WebRequest request,
+                                         Supplier<?> loader) {
+        var uuid = knownIds.require(type, id);
+        Supplier<Rendered> render = () -> versionService.getWithVersion(type, id,
+                version -> new Rendered(version, responseCache.get(endpoint, uuid, version.etag(), loader)));
+        var rendered = RoutingContext.isPrimaryForced() ? render.get() : singleFlight.load(endpoint, uuid, render);
+
+        if (notModified(request).test(rendered.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(rendered.body());
+    }
+
+    private static Predicate<EntityVersionDTO> notModified(WebRequest request) {
+        return version -> request.checkNotModified(version.etag(), version.lastModified().toEpochMilli());
+    }
+
+    private record Rendered(EntityVersionDTO version, byte[] body) {
+    }
+}
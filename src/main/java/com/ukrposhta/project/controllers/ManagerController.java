@@ -1,14 +1,17 @@
 package com.ukrposhta.project.controllers;
 
+import com.ukrposhta.project.cache.ResponseCache;
 import com.ukrposhta.project.dto.*;
-import com.ukrposhta.project.entities.Manager;
-import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.fields.FieldSelection;
 import com.ukrposhta.project.services.ManagerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -17,15 +20,49 @@ import java.util.Set;
 public class ManagerController {
 
     private final ManagerService managerService;
+    private final ConditionalGet conditionalGet;
+
+    @GetMapping
+    public ResponseEntity<PageDTO<ManagerSummaryDTO>> getManagers(@RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(managerService.getManagers(after, size));
+    }
 
     @GetMapping("/{managerId}")
-    public ResponseEntity<Manager> getManagerById(@PathVariable String managerId) {
-        return ResponseEntity.ok(managerService.getManagerById(managerId));
+    public ResponseEntity<?> getManagerById(@PathVariable String managerId,
+                                            @RequestParam(required = false) Set<String> fields,
+                                            @RequestParam(required = false) Set<String> expand,
+                                            WebRequest request) {
+        var selection = FieldSelection.of(fields, expand);
+        var relations = selection.relations(ManagerViewDTO.RELATIONS);
+        if (selection.isEmpty()) {
+            return conditionalGet.respondCached(EntityType.MANAGER, ResponseCache.MANAGER, managerId, request,
+                    () -> ManagerViewDTO.of(managerService.getManagerById(managerId)));
+        }
+        return conditionalGet.respond(EntityType.MANAGER, managerId, request, () -> managerService.getManagerView(managerId, relations));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<ManagerSummaryDTO>> getManagersByIds(@RequestBody BatchGetDTO batchGetDTO) {
+        return ResponseEntity.ok(managerService.getManagersByIds(batchGetDTO.ids()));
     }
 
     @GetMapping("/projects/{managerId}")
-    public ResponseEntity<Set<Project>> getProjectsByManagerId(@PathVariable String managerId) {
-        return ResponseEntity.ok(managerService.getProjectsByManagerId(managerId));
+    public ResponseEntity<byte[]> getProjectsByManagerId(@PathVariable String managerId,
+                                                         WebRequest request) {
+        return conditionalGet.respondCached(EntityType.MANAGER, ResponseCache.MANAGER_PROJECTS, managerId, request,
+                () -> managerService.getProjectsByManagerId(managerId));
+    }
+
+    /**
+     * With {@code ?fields=} the list bypasses the response cache and goes through the sparse
+     * fields advice.
+     */
+    @GetMapping(value = "/projects/{managerId}", params = FieldSelection.FIELDS)
+    public ResponseEntity<List<ProjectSummaryDTO>> getSelectedProjectsByManagerId(@PathVariable String managerId,
+                                                                                 WebRequest request) {
+        return conditionalGet.respond(EntityType.MANAGER, managerId, request,
+                () -> managerService.getProjectsByManagerId(managerId));
     }
 
     @PostMapping("/new")
@@ -43,6 +80,11 @@ public class ManagerController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchDeleteResultDTO> deleteManagersByIds(@RequestBody BatchDeleteDTO batchDeleteDTO) {
+        return ResponseEntity.ok(managerService.deleteManagersByIds(batchDeleteDTO.ids()));
+    }
+
     @PostMapping("/projects/add")
     public ResponseEntity<Void> addProjectsToManager(@RequestBody UpdateProjectsDTO updateProjectsDTO) {
         managerService.addProject(updateProjectsDTO.id(), updateProjectsDTO.projectId());
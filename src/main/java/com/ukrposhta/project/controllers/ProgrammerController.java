@@ -1,14 +1,17 @@
 package com.ukrposhta.project.controllers;
 
+import com.ukrposhta.project.cache.ResponseCache;
 import com.ukrposhta.project.dto.*;
-import com.ukrposhta.project.entities.Programmer;
-import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.fields.FieldSelection;
 import com.ukrposhta.project.services.ProgrammerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -17,15 +20,52 @@ import java.util.Set;
 public class ProgrammerController {
 
     private final ProgrammerService programmerService;
+    private final ConditionalGet conditionalGet;
+
+    @GetMapping
+    public ResponseEntity<PageDTO<ProgrammerSummaryDTO>> getProgrammers(@RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(programmerService.getProgrammers(after, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PageDTO<ProgrammerSummaryDTO>> searchProgrammers(ProgrammerSearchDTO criteria,
+                                                                           @RequestParam(required = false) String after,
+                                                                           @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(programmerService.searchProgrammers(criteria, after, size));
+    }
 
     @GetMapping("/{programmerId}")
-    public ResponseEntity<Programmer> getProgrammerById(@PathVariable String programmerId) {
-        return ResponseEntity.ok(programmerService.getProgrammerById(programmerId));
+    public ResponseEntity<?> getProgrammerById(@PathVariable String programmerId,
+                                               @RequestParam(required = false) Set<String> fields,
+                                               @RequestParam(required = false) Set<String> expand,
+                                               WebRequest request) {
+        var selection = FieldSelection.of(fields, expand);
+        var relations = selection.relations(ProgrammerViewDTO.RELATIONS);
+        if (selection.isEmpty()) {
+            return conditionalGet.respondCached(EntityType.PROGRAMMER, ResponseCache.PROGRAMMER, programmerId, request,
+                    () -> ProgrammerViewDTO.of(programmerService.getProgrammerById(programmerId)));
+        }
+        return conditionalGet.respond(EntityType.PROGRAMMER, programmerId, request, () -> programmerService.getProgrammerView(programmerId, relations));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<ProgrammerSummaryDTO>> getProgrammersByIds(@RequestBody BatchGetDTO batchGetDTO) {
+        return ResponseEntity.ok(programmerService.getProgrammersByIds(batchGetDTO.ids()));
     }
 
     @GetMapping("/projects/{programmerId}")
-    public ResponseEntity<Set<Project>> getProjectsByProgrammerId(@PathVariable String programmerId) {
-        return ResponseEntity.ok(programmerService.getProjectsByProgrammerId(programmerId));
+    public ResponseEntity<byte[]> getProjectsByProgrammerId(@PathVariable String programmerId,
+                                                            WebRequest request) {
+        return conditionalGet.respondCached(EntityType.PROGRAMMER, ResponseCache.PROGRAMMER_PROJECTS, programmerId, request,
+                () -> programmerService.getProjectsByProgrammerId(programmerId));
+    }
+
+    @GetMapping(value = "/projects/{programmerId}", params = FieldSelection.FIELDS)
+    public ResponseEntity<List<ProjectSummaryDTO>> getSelectedProjectsByProgrammerId(@PathVariable String programmerId,
+                                                                                    WebRequest request) {
+        return conditionalGet.respond(EntityType.PROGRAMMER, programmerId, request,
+                () -> programmerService.getProjectsByProgrammerId(programmerId));
     }
 
     @PostMapping("/new")
@@ -45,6 +85,11 @@ public class ProgrammerController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchDeleteResultDTO> deleteProgrammersByIds(@RequestBody BatchDeleteDTO batchDeleteDTO) {
+        return ResponseEntity.ok(programmerService.deleteProgrammersByIds(batchDeleteDTO.ids()));
+    }
+
     @PostMapping("/projects/add")
     public ResponseEntity<Void> addProjectsToProgrammer(@RequestBody UpdateProjectsDTO updateProjectsDTO) {
         programmerService.addProject(updateProjectsDTO.id(), updateProjectsDTO.projectId());
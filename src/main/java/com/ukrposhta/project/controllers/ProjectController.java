@@ -1,15 +1,19 @@
 package com.ukrposhta.project.controllers;
 
+import com.ukrposhta.project.cache.ResponseCache;
 import com.ukrposhta.project.dto.*;
-import com.ukrposhta.project.entities.Manager;
-import com.ukrposhta.project.entities.Programmer;
-import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.DashboardSection;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.fields.FieldSelection;
 import com.ukrposhta.project.services.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -18,20 +22,78 @@ import java.util.Set;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ConditionalGet conditionalGet;
+
+    @GetMapping
+    public ResponseEntity<PageDTO<ProjectSummaryDTO>> getProjects(@RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(projectService.getProjects(after, size));
+    }
 
     @GetMapping("/{projectId}")
-    public ResponseEntity<Project> getProjectById(@PathVariable String projectId) {
-        return ResponseEntity.ok(projectService.getProjectById(projectId));
+    public ResponseEntity<?> getProjectById(@PathVariable String projectId,
+                                            @RequestParam(required = false) Set<String> fields,
+                                            @RequestParam(required = false) Set<String> expand,
+                                            WebRequest request) {
+        var selection = FieldSelection.of(fields, expand);
+        var relations = selection.relations(ProjectViewDTO.RELATIONS);
+        if (selection.isEmpty()) {
+            return conditionalGet.respondCached(EntityType.PROJECT, ResponseCache.PROJECT, projectId, request,
+                    () -> ProjectViewDTO.of(projectService.getProjectById(projectId)));
+        }
+        return conditionalGet.respond(EntityType.PROJECT, projectId, request, () -> projectService.getProjectView(projectId, relations));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<ProjectSummaryDTO>> getProjectsByIds(@RequestBody BatchGetDTO batchGetDTO) {
+        return ResponseEntity.ok(projectService.getProjectsByIds(batchGetDTO.ids()));
     }
 
     @GetMapping("/managers/{projectId}")
-    public ResponseEntity<Set<Manager>> getManagersByProjectId(@PathVariable String projectId) {
-        return ResponseEntity.ok(projectService.getManagersByProjectId(projectId));
+    public ResponseEntity<byte[]> getManagersByProjectId(@PathVariable String projectId,
+                                                         WebRequest request) {
+        return conditionalGet.respondCached(EntityType.PROJECT, ResponseCache.PROJECT_MANAGERS, projectId, request,
+                () -> projectService.getManagersByProjectId(projectId));
+    }
+
+    @GetMapping(value = "/managers/{projectId}", params = FieldSelection.FIELDS)
+    public ResponseEntity<List<ManagerSummaryDTO>> getSelectedManagersByProjectId(@PathVariable String projectId,
+                                                                                 WebRequest request) {
+        return conditionalGet.respond(EntityType.PROJECT, projectId, request,
+                () -> projectService.getManagersByProjectId(projectId));
     }
 
     @GetMapping("/programmers/{projectId}")
-    public ResponseEntity<Set<Programmer>> getProgrammersByProjectId(@PathVariable String projectId) {
-        return ResponseEntity.ok(projectService.getProgrammersByProjectId(projectId));
+    public ResponseEntity<byte[]> getProgrammersByProjectId(@PathVariable String projectId,
+                                                            WebRequest request) {
+        return conditionalGet.respondCached(EntityType.PROJECT, ResponseCache.PROJECT_PROGRAMMERS, projectId, request,
+                () -> projectService.getProgrammersByProjectId(projectId));
+    }
+
+    @GetMapping(value = "/programmers/{projectId}", params = FieldSelection.FIELDS)
+    public ResponseEntity<List<ProgrammerSummaryDTO>> getSelectedProgrammersByProjectId(@PathVariable String projectId,
+                                                                                       WebRequest request) {
+        return conditionalGet.respond(EntityType.PROJECT, projectId, request,
+                () -> projectService.getProgrammersByProjectId(projectId));
+    }
+
+    @GetMapping("/staffing/{projectId}")
+    public ResponseEntity<ProjectStaffingDTO> getStaffingByProjectId(@PathVariable String projectId) {
+        return ResponseEntity.ok(projectService.getStaffing(projectId));
+    }
+
+    @GetMapping("/dashboard/{projectId}")
+    public ResponseEntity<ProjectDashboardDTO> getDashboardByProjectId(@PathVariable String projectId,
+                                                                       @RequestParam(required = false) Set<DashboardSection> sections,
+                                                                       @RequestParam(required = false) String managersAfter,
+                                                                       @RequestParam(required = false) String programmersAfter,
+                                                                       @RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(projectService.getDashboard(
+                projectId,
+                sections == null || sections.isEmpty() ? EnumSet.allOf(DashboardSection.class) : sections,
+                managersAfter,
+                programmersAfter,
+                size));
     }
 
     @PostMapping("/new")
@@ -49,6 +111,11 @@ public class ProjectController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchDeleteResultDTO> deleteProjectsByIds(@RequestBody BatchDeleteDTO batchDeleteDTO) {
+        return ResponseEntity.ok(projectService.deleteProjectsByIds(batchDeleteDTO.ids()));
+    }
+
     @PostMapping("/managers/add")
     public ResponseEntity<Void> addManagersToProject(@RequestBody UpdateManagersDTO updateManagersDTO) {
         projectService.addManagerToProject(updateManagersDTO.projectId(), updateManagersDTO.managerId());
@@ -73,6 +140,30 @@ public class ProjectController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/managers/add/bulk")
+    public ResponseEntity<BulkUpdateResultDTO> bulkAddManagersToProject(@RequestBody BulkUpdateManagersDTO bulkUpdateManagersDTO) {
+        return ResponseEntity.ok(projectService.bulkAddManagersToProject(
+                bulkUpdateManagersDTO.projectId(), bulkUpdateManagersDTO.managerIds()));
+    }
+
+    @PostMapping("/managers/remove/bulk")
+    public ResponseEntity<BulkUpdateResultDTO> bulkRemoveManagersFromProject(@RequestBody BulkUpdateManagersDTO bulkUpdateManagersDTO) {
+        return ResponseEntity.ok(projectService.bulkRemoveManagersFromProject(
+                bulkUpdateManagersDTO.projectId(), bulkUpdateManagersDTO.managerIds()));
+    }
+
+    @PostMapping("/programmers/add/bulk")
+    public ResponseEntity<BulkUpdateResultDTO> bulkAddProgrammersToProject(@RequestBody BulkUpdateProgrammersDTO bulkUpdateProgrammersDTO) {
+        return ResponseEntity.ok(projectService.bulkAddProgrammersToProject(
+                bulkUpdateProgrammersDTO.projectId(), bulkUpdateProgrammersDTO.programmerIds()));
+    }
+
+    @PostMapping("/programmers/remove/bulk")
+    public ResponseEntity<BulkUpdateResultDTO> bulkRemoveProgrammersFromProject(@RequestBody BulkUpdateProgrammersDTO bulkUpdateProgrammersDTO) {
+        return ResponseEntity.ok(projectService.bulkRemoveProgrammersFromProject(
+                bulkUpdateProgrammersDTO.projectId(), bulkUpdateProgrammersDTO.programmerIds()));
+    }
+
     @PostMapping("/name")
     public ResponseEntity<Void> changeNameOfProject(@RequestBody ChangeProjectNameDTO changeProjectNameDTO) {
         projectService.changeNameOfProject(changeProjectNameDTO.projectId(), changeProjectNameDTO.newName());
@@ -0,0 +1,30 @@
+package com.ukrposhta.project.controllers;
+
+import com.ukrposhta.project.dto.NameSearchResultDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.services.NameSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final NameSearchService nameSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<NameSearchResultDTO>> searchByName(@RequestParam String q,
+                                                                  @RequestParam(required = false) Set<EntityType> types,
+                                                                  @RequestParam(defaultValue = "" + NameSearchService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(nameSearchService.search(
+                q,
+                types == null || types.isEmpty() ? EnumSet.allOf(EntityType.class) : types,
+                Math.max(1, Math.min(limit, NameSearchService.MAX_LIMIT))));
+    }
+}
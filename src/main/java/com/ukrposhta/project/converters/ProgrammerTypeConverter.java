@@ -0,0 +1,20 @@
+package com.ukrposhta.project.converters;
+
+import com.ukrposhta.project.enums.ProgrammerType;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter(autoApply = true)
+public class ProgrammerTypeConverter implements AttributeConverter<ProgrammerType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(ProgrammerType type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public ProgrammerType convertToEntityAttribute(Short code) {
+        return code == null ? null : ProgrammerType.fromCode(code);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ukrposhta.project.converters;
+
+import com.ukrposhta.project.enums.SkillLevel;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter(autoApply = true)
+public class SkillLevelConverter implements AttributeConverter<SkillLevel, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(SkillLevel skillLevel) {
+        return skillLevel == null ? null : skillLevel.getCode();
+    }
+
+    @Override
+    public SkillLevel convertToEntityAttribute(Short code) {
+        return code == null ? null : SkillLevel.fromCode(code);
+    }
+}
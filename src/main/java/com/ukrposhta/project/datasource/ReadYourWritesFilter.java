@@ -0,0 +1,77 @@
+package com.ukrposhta.project.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Arrays;
+
+/**
+ * Keeps a client's reads on the primary right after it wrote. Every mutating request sets a
+ * cookie holding the end of the read-your-writes window; reads carrying an unexpired cookie,
+ * or the {@value #HEADER} header, skip the replicas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+    public static final String COOKIE = "primary-until";
+
+    private final ReplicaRoutingProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var now = clock.millis();
+
+        if (!isRead(request)) {
+            var window = properties.getReadYourWritesWindow();
+            var cookie = new Cookie(COOKIE, Long.toString(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        } else if (Boolean.parseBoolean(request.getHeader(HEADER)) || pinnedUntil(request) > now) {
+            RoutingContext.forcePrimary();
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        return Arrays.stream(request.getCookies())
+                .filter(cookie -> COOKIE.equals(cookie.getName()))
+                .mapToLong(cookie -> {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                })
+                .max()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ukrposhta.project.datasource;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Drops cache writes made on a thread that read from a replica. A replica row may predate a
+ * commit the primary already has; cached, it would be served for the rest of its TTL to clients
+ * whose reads are kept on the primary to see their own writes. Lookups still hit.
+ * Stays a {@link CaffeineCache} over the same native cache, so cache metrics still bind to it.
+ */
+class ReplicaReadCache extends CaffeineCache {
+
+    private ReplicaReadCache(CaffeineCache cache) {
+        super(cache.getName(), cache.getNativeCache(), cache.isAllowNullValues());
+    }
+
+    /**
+     * Caches other than Caffeine's, such as a disabled cache's no-op, store nothing to guard.
+     */
+    static Cache decorate(Cache cache) {
+        return cache instanceof CaffeineCache caffeineCache ? new ReplicaReadCache(caffeineCache) : cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!RoutingContext.isReplicaRead()) {
+            return super.get(key, valueLoader);
+        }
+        var cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!RoutingContext.isReplicaRead()) {
+            super.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return RoutingContext.isReplicaRead() ? get(key) : super.putIfAbsent(key, value);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ukrposhta.project.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in round-robin order and everything else
+ * to the primary. A replica that cannot connect is skipped for {@code unhealthyBackoff};
+ * one whose pool is merely busy is only passed over for this connection. When no replica
+ * is usable, reads fall back to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * otherwise the connection is fetched before the transaction is marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration unhealthyBackoff;
+    private final Clock clock;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    Duration unhealthyBackoff, Clock clock) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.unhealthyBackoff = unhealthyBackoff;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readsFromReplica()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                var replica = nextHealthyReplica();
+                if (replica.isEmpty()) {
+                    break;
+                }
+                try {
+                    var connection = replica.get().dataSource.getConnection();
+                    RoutingContext.markReplicaRead();
+                    return connection;
+                } catch (SQLException | RuntimeException e) {
+                    if (isPoolWaitTimeout(e)) {
+                        log.debug("Replica {} is busy: {}", replicas.indexOf(replica.get()), e.getMessage());
+                        continue;
+                    }
+                    replica.get().unhealthyUntil = clock.millis() + unhealthyBackoff.toMillis();
+                    log.warn("Replica {} is unavailable, skipping it for {}: {}",
+                            replicas.indexOf(replica.get()), unhealthyBackoff, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private boolean readsFromReplica() {
+        return !replicas.isEmpty()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !RoutingContext.isPrimaryForced();
+    }
+
+    /**
+     * Hikari reports a connection it could not create with the driver's error as the cause;
+     * without one, every connection was in use for the whole wait.
+     */
+    private static boolean isPoolWaitTimeout(Exception e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    private Optional<Replica> nextHealthyReplica() {
+        var now = clock.millis();
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.unhealthyUntil <= now) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        private volatile long unhealthyUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ukrposhta.project.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica routing under {@code app.datasource.routing}. The primary stays {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+@Getter
+@Setter
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long a replica that failed to hand out a connection is skipped before it is tried again.
+     */
+    private Duration unhealthyBackoff = Duration.ofSeconds(30);
+
+    /**
+     * How long reads from a client stay on the primary after it sent a mutating request;
+     * should cover the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
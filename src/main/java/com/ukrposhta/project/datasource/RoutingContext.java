@@ -0,0 +1,39 @@
+package com.ukrposhta.project.datasource;
+
+/**
+ * Per-thread override that keeps read-only work on the primary, e.g. for a client
+ * that has just written and must see its own change, and a record of whether the thread
+ * has read from a replica, whose possibly lagging rows must not be cached.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> REPLICA_READ = ThreadLocal.withInitial(() -> false);
+
+    private RoutingContext() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get();
+    }
+
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(true);
+    }
+
+    /**
+     * True once the thread was handed a replica connection, until {@link #clear()}.
+     */
+    public static boolean isReplicaRead() {
+        return REPLICA_READ.get();
+    }
+
+    static void markReplicaRead() {
+        REPLICA_READ.set(true);
+    }
+
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+        REPLICA_READ.remove();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ukrposhta.project.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's primary override to a pooled thread, e.g. for a streamed
+ * response written on the task executor, and clears the routing context once the task is
+ * done so the next task on that thread starts unpinned and without a recorded replica read.
+ */
+class RoutingContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        var primaryForced = RoutingContext.isPrimaryForced();
+        return () -> {
+            if (primaryForced) {
+                RoutingContext.forcePrimary();
+            }
+            try {
+                runnable.run();
+            } finally {
+                RoutingContext.clear();
+            }
+        };
+    }
+}
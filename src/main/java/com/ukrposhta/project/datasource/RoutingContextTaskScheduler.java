@@ -0,0 +1,26 @@
+package com.ukrposhta.project.datasource;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Clears the routing context after every run of a scheduled task; a periodic task would
+ * otherwise leave its replica read recorded on the scheduler thread for the next task.
+ */
+class RoutingContextTaskScheduler extends ThreadPoolTaskScheduler {
+
+    @Override
+    protected ScheduledExecutorService createExecutor(int poolSize, ThreadFactory threadFactory,
+                                                      RejectedExecutionHandler rejectedExecutionHandler) {
+        return new ScheduledThreadPoolExecutor(poolSize, threadFactory, rejectedExecutionHandler) {
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable throwable) {
+                RoutingContext.clear();
+            }
+        };
+    }
+}
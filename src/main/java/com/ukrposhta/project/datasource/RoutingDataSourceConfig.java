@@ -0,0 +1,114 @@
+package com.ukrposhta.project.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Replaces the auto-configured datasource when {@code app.datasource.routing.enabled} is set.
+ * Replica pools take the primary's {@code spring.datasource.hikari} settings with their own
+ * url and credentials.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@Slf4j
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingProperties properties) {
+        var replicas = new ArrayList<DataSource>();
+        for (var replica : properties.getReplicas()) {
+            var pool = new HikariDataSource();
+            primaryDataSource.copyStateTo(pool);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setPoolName(Objects.requireNonNullElse(primaryDataSource.getPoolName(), "HikariPool") + "-replica-" + replicas.size());
+            replicas.add(pool);
+        }
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                properties.getUnhealthyBackoff(), Clock.systemUTC()));
+    }
+
+    /**
+     * Rebuilds cache managers over their own caches, each decorated by {@link ReplicaReadCache}.
+     */
+    @Bean
+    static BeanPostProcessor replicaReadCaches() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CacheManager cacheManager)) {
+                    return bean;
+                }
+                var decorated = new SimpleCacheManager();
+                decorated.setCaches(cacheManager.getCacheNames().stream()
+                        .map(cacheManager::getCache)
+                        .map(ReplicaReadCache::decorate)
+                        .toList());
+                decorated.initializeCaches();
+                return decorated;
+            }
+        };
+    }
+
+    /**
+     * Picked up by the auto-configured task executor, which runs streamed responses.
+     */
+    @Bean
+    public TaskDecorator routingContextTaskDecorator() {
+        return new RoutingContextTaskDecorator();
+    }
+
+    /**
+     * Boot's scheduler, but with a pool that clears the routing context after each run.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.configure(new RoutingContextTaskScheduler());
+    }
+
+    /**
+     * Boot backs off from its task executor once any executor bean, such as the scheduler
+     * above, exists; this is the same executor, built with the decorator above.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
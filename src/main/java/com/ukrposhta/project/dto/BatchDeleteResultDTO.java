@@ -0,0 +1,28 @@
+package com.ukrposhta.project.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of a batch delete in request order: {@code missing} lists requested ids that
+ * did not exist or are not valid UUIDs.
+ */
+public record BatchDeleteResultDTO(List<String> deleted, List<String> missing) {
+
+    public static BatchDeleteResultDTO of(Map<String, UUID> requested, List<String> ids, Collection<UUID> deletedIds) {
+        var deleted = new ArrayList<String>();
+        var missing = new ArrayList<String>();
+        for (var id : ids) {
+            var uuid = requested.get(id);
+            if (uuid != null && deletedIds.contains(uuid)) {
+                deleted.add(id);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchDeleteResultDTO(deleted, missing);
+    }
+}
@@ -0,0 +1,6 @@
+package com.ukrposhta.project.dto;
+
+import java.util.List;
+
+public record BatchGetDTO(List<String> ids) {
+}
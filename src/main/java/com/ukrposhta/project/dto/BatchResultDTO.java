@@ -0,0 +1,28 @@
+package com.ukrposhta.project.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of a batch lookup: {@code found} follows request order, {@code missing} lists
+ * requested ids that do not exist or are not valid UUIDs.
+ */
+public record BatchResultDTO<T>(List<T> found, List<String> missing) {
+
+    public static <T> BatchResultDTO<T> of(Map<String, UUID> requested, List<String> ids, Map<UUID, T> loaded) {
+        var found = new ArrayList<T>();
+        var missing = new ArrayList<String>();
+        for (var id : ids) {
+            var uuid = requested.get(id);
+            var value = uuid == null ? null : loaded.get(uuid);
+            if (value == null) {
+                missing.add(id);
+            } else {
+                found.add(value);
+            }
+        }
+        return new BatchResultDTO<>(found, missing);
+    }
+}
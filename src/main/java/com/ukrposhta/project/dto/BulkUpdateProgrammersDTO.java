@@ -0,0 +1,6 @@
+package com.ukrposhta.project.dto;
+
+import java.util.List;
+
+public record BulkUpdateProgrammersDTO(String projectId, List<String> programmerIds) {
+}
@@ -0,0 +1,8 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.MembershipStatus;
+
+import java.util.Map;
+
+public record BulkUpdateResultDTO(String projectId, Map<String, MembershipStatus> results) {
+}
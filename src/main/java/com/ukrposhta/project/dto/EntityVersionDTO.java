@@ -0,0 +1,23 @@
+package com.ukrposhta.project.dto;
+
+import java.time.Instant;
+
+/**
+ * Validator of an entity and its member lists: {@code relatedVersions} is the newest version of
+ * its join rows, which grows whenever any of the entities it lists changes, and adding or
+ * removing one bumps {@code version} itself. {@code lastModified} is the later of the two changes.
+ */
+public record EntityVersionDTO(long version, long relatedVersions, Instant lastModified) {
+
+    /**
+     * @param relatedModifiedAt null when the entity lists nothing
+     */
+    public static EntityVersionDTO of(long version, Instant modifiedAt, long relatedVersions, Instant relatedModifiedAt) {
+        var lastModified = relatedModifiedAt != null && relatedModifiedAt.isAfter(modifiedAt) ? relatedModifiedAt : modifiedAt;
+        return new EntityVersionDTO(version, relatedVersions, lastModified);
+    }
+
+    public String etag() {
+        return "\"" + version + "." + relatedVersions + "\"";
+    }
+}
@@ -0,0 +1,4 @@
+package com.ukrposhta.project.dto;
+
+public record ImportErrorDTO(long line, String message) {
+}
@@ -0,0 +1,4 @@
+package com.ukrposhta.project.dto;
+
+public record ImportProgressDTO(long batch, long lines, long accepted, long rejected) {
+}
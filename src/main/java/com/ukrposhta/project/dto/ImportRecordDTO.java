@@ -0,0 +1,15 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ImportKind;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+
+import java.util.UUID;
+
+/**
+ * One NDJSON line of an import. Entity lines use id (optional), name, skillLevel and type;
+ * membership lines use memberId and projectId.
+ */
+public record ImportRecordDTO(ImportKind kind, UUID id, String name, SkillLevel skillLevel, ProgrammerType type,
+                              UUID memberId, UUID projectId) {
+}
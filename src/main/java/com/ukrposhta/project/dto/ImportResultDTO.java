@@ -0,0 +1,9 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ImportKind;
+
+import java.util.List;
+import java.util.Map;
+
+public record ImportResultDTO(long lines, Map<ImportKind, Long> imported, long failed, List<ImportErrorDTO> errors) {
+}
@@ -0,0 +1,6 @@
+package com.ukrposhta.project.dto;
+
+import java.util.UUID;
+
+public record ManagerRankDTO(UUID id, String name, long projects) {
+}
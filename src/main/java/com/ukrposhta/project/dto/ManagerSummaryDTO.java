@@ -0,0 +1,6 @@
+package com.ukrposhta.project.dto;
+
+import java.util.UUID;
+
+public record ManagerSummaryDTO(UUID id, String name) {
+}
@@ -0,0 +1,27 @@
+package com.ukrposhta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.util.Ids;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A manager with the relations that were asked for; relations that were not loaded are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ManagerViewDTO(UUID id, String name, List<ProjectSummaryDTO> projects) {
+
+    public static final String PROJECTS = "projects";
+    public static final Set<String> RELATIONS = Set.of(PROJECTS);
+
+    public static ManagerViewDTO of(Manager manager) {
+        return new ManagerViewDTO(manager.getId(), manager.getName(), manager.getProjects().stream()
+                .map(project -> new ProjectSummaryDTO(project.getId(), project.getProjectName()))
+                .sorted(Comparator.comparing(ProjectSummaryDTO::id, Ids.DATABASE_ORDER))
+                .toList());
+    }
+}
@@ -0,0 +1,8 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.EntityType;
+
+import java.util.UUID;
+
+public record NameSearchResultDTO(EntityType type, UUID id, String name, double score) {
+}
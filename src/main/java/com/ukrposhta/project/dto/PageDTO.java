@@ -0,0 +1,28 @@
+package com.ukrposhta.project.dto;
+
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) walk ordered by id.
+ * {@code nextCursor} is the id to pass as {@code after} for the next page, or null on the last page.
+ */
+public record PageDTO<T>(List<T> content, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static PageRequest pageRequest(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static <T> PageDTO<T> of(List<T> content, PageRequest pageRequest, Function<T, UUID> idExtractor) {
+        String nextCursor = content.size() < pageRequest.getPageSize()
+                ? null
+                : idExtractor.apply(content.get(content.size() - 1)).toString();
+        return new PageDTO<>(content, nextCursor);
+    }
+}
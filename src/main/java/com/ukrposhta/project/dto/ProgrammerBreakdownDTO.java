@@ -0,0 +1,7 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+
+public record ProgrammerBreakdownDTO(SkillLevel skillLevel, ProgrammerType type, long programmers) {
+}
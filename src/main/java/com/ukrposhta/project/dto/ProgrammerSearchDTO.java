@@ -0,0 +1,14 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+
+import java.util.UUID;
+
+/**
+ * Programmer search filters; every field is optional.
+ * {@code assigned} selects programmers on at least one project (true) or on none (false).
+ */
+public record ProgrammerSearchDTO(SkillLevel skillLevel, ProgrammerType type, Boolean assigned,
+                                  UUID projectId, UUID excludeProjectId) {
+}
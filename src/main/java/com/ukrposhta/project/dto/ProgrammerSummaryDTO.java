@@ -0,0 +1,9 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+
+import java.util.UUID;
+
+public record ProgrammerSummaryDTO(UUID id, String name, SkillLevel skillLevel, ProgrammerType type) {
+}
@@ -0,0 +1,31 @@
+package com.ukrposhta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.util.Ids;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A programmer with the relations that were asked for; relations that were not loaded are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProgrammerViewDTO(UUID id, String name, SkillLevel skillLevel, ProgrammerType type,
+                                List<ProjectSummaryDTO> projects) {
+
+    public static final String PROJECTS = "projects";
+    public static final Set<String> RELATIONS = Set.of(PROJECTS);
+
+    public static ProgrammerViewDTO of(Programmer programmer) {
+        return new ProgrammerViewDTO(programmer.getId(), programmer.getName(), programmer.getSkillLevel(),
+                programmer.getType(), programmer.getProjects().stream()
+                .map(project -> new ProjectSummaryDTO(project.getId(), project.getProjectName()))
+                .sorted(Comparator.comparing(ProjectSummaryDTO::id, Ids.DATABASE_ORDER))
+                .toList());
+    }
+}
@@ -0,0 +1,13 @@
+package com.ukrposhta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A project with the sections its page needs; sections that were not requested are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectDashboardDTO(ProjectSummaryDTO project,
+                                  PageDTO<ManagerSummaryDTO> managers,
+                                  PageDTO<ProgrammerSummaryDTO> programmers,
+                                  ProjectStaffingDTO staffing) {
+}
@@ -0,0 +1,8 @@
+package com.ukrposhta.project.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProjectExportDTO(UUID id, String projectName, List<ManagerSummaryDTO> managers,
+                               List<ProgrammerSummaryDTO> programmers) {
+}
@@ -0,0 +1,12 @@
+package com.ukrposhta.project.dto;
+
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record ProjectStaffingDTO(UUID projectId, long managers, long programmers,
+                                 Map<SkillLevel, Long> skillLevels, Map<ProgrammerType, Long> types,
+                                 Map<SkillLevel, Map<ProgrammerType, Long>> composition) {
+}
@@ -0,0 +1,6 @@
+package com.ukrposhta.project.dto;
+
+import java.util.UUID;
+
+public record ProjectSummaryDTO(UUID id, String projectName) {
+}
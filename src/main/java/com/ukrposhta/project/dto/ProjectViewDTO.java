@@ -0,0 +1,24 @@
+package com.ukrposhta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ukrposhta.project.entities.Project;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A project with the relations that were asked for; relations that were not loaded are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectViewDTO(UUID id, String projectName, List<ManagerSummaryDTO> managers,
+                             List<ProgrammerSummaryDTO> programmers) {
+
+    public static final String MANAGERS = "managers";
+    public static final String PROGRAMMERS = "programmers";
+    public static final Set<String> RELATIONS = Set.of(MANAGERS, PROGRAMMERS);
+
+    public static ProjectViewDTO of(Project project) {
+        return new ProjectViewDTO(project.getId(), project.getProjectName(), null, null);
+    }
+}
@@ -1,32 +1,54 @@
 package com.ukrposhta.project.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ukrposhta.project.ids.KnownIdsListener;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KnownIdsListener.class)
 @Table(name = "Manager")
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
-public class Manager {
+public class Manager implements Persistable<UUID> {
 
     @Id
     private UUID id;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     @Column(name = "name", nullable = false)
     private String name;
 
-    @ManyToMany(cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REMOVE})
+    /**
+     * Bumped in SQL by the services on every change to the row or to its memberships, and never
+     * written from the entity, so a flush cannot put back a stale in-memory value.
+     * Not a JPA {@code @Version}: membership changes bypass the entity.
+     */
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
+    @Column(name = "modified_at", nullable = false, updatable = false)
+    private Instant modifiedAt;
+
+    @ManyToMany(cascade = {CascadeType.DETACH, CascadeType.MERGE})
     @JoinTable(
             name = "Manager_Project",
             joinColumns = {@JoinColumn(name = "manager_id")},
-            inverseJoinColumns = {@JoinColumn(name = "project_id")}
+            inverseJoinColumns = {@JoinColumn(name = "project_id")},
+            indexes = {@Index(name = "idx_manager_project_project_id", columnList = "project_id, manager_id")}
     )
     private Set<Project> projects = new HashSet<>();
 
@@ -37,4 +59,25 @@ public class Manager {
     public void removeProject(Project project) {
         projects.remove(project);
     }
+
+    /**
+     * Ids are assigned up front, so Spring Data can't infer newness from a null id;
+     * without this, save() would merge and SELECT before every INSERT.
+     */
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @PrePersist
+    void initVersion() {
+        modifiedAt = Instant.now();
+    }
 }
@@ -0,0 +1,28 @@
+package com.ukrposhta.project.entities;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.data.domain.Persistable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Lets Hibernate use the same "is new" signal as Spring Data. With assigned ids and no @Version
+ * attribute Hibernate otherwise has to SELECT a snapshot to tell whether a referenced
+ * entity (e.g. a project in a new manager's project set) already exists.
+ */
+@Component
+public class PersistableInterceptor extends EmptyInterceptor implements HibernatePropertiesCustomizer {
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        return entity instanceof Persistable<?> persistable ? persistable.isNew() : null;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+}
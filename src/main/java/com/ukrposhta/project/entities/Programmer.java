@@ -1,38 +1,64 @@
 package com.ukrposhta.project.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.ids.KnownIdsListener;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "Programmer")
+@EntityListeners(KnownIdsListener.class)
+@Table(name = "Programmer", indexes = {
+        @Index(name = "idx_programmer_skill_level_type", columnList = "skill_level, type, id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
-public class Programmer {
+public class Programmer implements Persistable<UUID> {
 
     @Id
     private UUID id;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     @Column(name = "name", nullable = false)
     private String name;
 
     @Column(name = "skill_level", nullable = false)
-    private String skillLevel;
+    private SkillLevel skillLevel;
 
     @Column(name = "type", nullable = false)
-    private String type;
+    private ProgrammerType type;
+
+    /**
+     * Bumped in SQL by the services on every change to the row or to its memberships, and never
+     * written from the entity, so a flush cannot put back a stale in-memory value.
+     * Not a JPA {@code @Version}: membership changes bypass the entity.
+     */
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
+    @Column(name = "modified_at", nullable = false, updatable = false)
+    private Instant modifiedAt;
 
-    @ManyToMany(cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REMOVE})
+    @ManyToMany(cascade = {CascadeType.DETACH, CascadeType.MERGE})
     @JoinTable(
             name = "Programmer_Project",
             joinColumns = {@JoinColumn(name = "programmer_id")},
-            inverseJoinColumns = {@JoinColumn(name = "project_id")}
+            inverseJoinColumns = {@JoinColumn(name = "project_id")},
+            indexes = {@Index(name = "idx_programmer_project_project_id", columnList = "project_id, programmer_id")}
     )
     private Set<Project> projects = new HashSet<>();
 
@@ -43,4 +69,21 @@ public class Programmer {
     public void removeProject(Project project) {
         projects.remove(project);
     }
+
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @PrePersist
+    void initVersion() {
+        modifiedAt = Instant.now();
+    }
 }
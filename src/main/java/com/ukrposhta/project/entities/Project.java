@@ -1,33 +1,70 @@
 package com.ukrposhta.project.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ukrposhta.project.ids.KnownIdsListener;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KnownIdsListener.class)
 @Table(name = "Project")
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
-public class Project {
+public class Project implements Persistable<UUID> {
 
     @Id
     private UUID id;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     @Column(name = "name", nullable = false)
     private String projectName;
 
+    /**
+     * Bumped in SQL by the services on every change to the row or to its memberships, and never
+     * written from the entity, so a flush cannot put back a stale in-memory value.
+     * Not a JPA {@code @Version}: membership changes bypass the entity.
+     */
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
+    @Column(name = "modified_at", nullable = false, updatable = false)
+    private Instant modifiedAt;
+
     @JsonIgnore
-    @ManyToMany(mappedBy = "projects", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "projects")
     private Set<Manager> managers = new HashSet<>();
 
     @JsonIgnore
-    @ManyToMany(mappedBy = "projects", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "projects")
     private Set<Programmer> programmers = new HashSet<>();
+
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @PrePersist
+    void initVersion() {
+        modifiedAt = Instant.now();
+    }
 }
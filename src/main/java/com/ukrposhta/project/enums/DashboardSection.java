@@ -0,0 +1,7 @@
+package com.ukrposhta.project.enums;
+
+public enum DashboardSection {
+    MANAGERS,
+    PROGRAMMERS,
+    STAFFING
+}
@@ -0,0 +1,7 @@
+package com.ukrposhta.project.enums;
+
+public enum EntityType {
+    MANAGER,
+    PROGRAMMER,
+    PROJECT
+}
@@ -0,0 +1,9 @@
+package com.ukrposhta.project.enums;
+
+public enum ImportKind {
+    MANAGER,
+    PROGRAMMER,
+    PROJECT,
+    MANAGER_PROJECT,
+    PROGRAMMER_PROJECT
+}
@@ -0,0 +1,9 @@
+package com.ukrposhta.project.enums;
+
+public enum MembershipStatus {
+    ADDED,
+    ALREADY_PRESENT,
+    REMOVED,
+    NOT_PRESENT,
+    NOT_FOUND
+}
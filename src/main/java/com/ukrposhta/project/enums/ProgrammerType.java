@@ -1,7 +1,29 @@
 package com.ukrposhta.project.enums;
 
+import java.util.Arrays;
+
+/**
+ * Persisted as a smallint {@link #getCode() code}; codes are stable, never reuse or renumber them.
+ */
 public enum ProgrammerType {
-    DEVELOPER,
-    QA,
-    DEVOPS
+    DEVELOPER(1),
+    QA(2),
+    DEVOPS(3);
+
+    private final short code;
+
+    ProgrammerType(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static ProgrammerType fromCode(short code) {
+        return Arrays.stream(values())
+                .filter(type -> type.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown programmer type code: " + code));
+    }
 }
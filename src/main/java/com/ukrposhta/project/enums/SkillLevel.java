@@ -1,7 +1,29 @@
 package com.ukrposhta.project.enums;
 
+import java.util.Arrays;
+
+/**
+ * Persisted as a smallint {@link #getCode() code}; codes are stable, never reuse or renumber them.
+ */
 public enum SkillLevel {
-    JUNIOR,
-    MIDDLE,
-    SENIOR
+    JUNIOR(1),
+    MIDDLE(2),
+    SENIOR(3);
+
+    private final short code;
+
+    SkillLevel(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static SkillLevel fromCode(short code) {
+        return Arrays.stream(values())
+                .filter(skillLevel -> skillLevel.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown skill level code: " + code));
+    }
 }
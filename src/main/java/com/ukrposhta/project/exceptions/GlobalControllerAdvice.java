@@ -22,4 +22,13 @@ public class GlobalControllerAdvice {
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<Object> handleInvalidFieldSelectionException(InvalidFieldSelectionException exception) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", exception.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 }
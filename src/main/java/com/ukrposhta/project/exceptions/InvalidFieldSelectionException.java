@@ -0,0 +1,7 @@
+package com.ukrposhta.project.exceptions;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+    public InvalidFieldSelectionException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,6 @@ package com.ukrposhta.project.exceptions;
 
 public class ManagerNotFoundException extends RuntimeException {
     public ManagerNotFoundException(String id) {
-        super("Could not find manager with id: " + id);
+        super("Could not find manager with id: " + id, null, false, false);
     }
 }
@@ -2,6 +2,6 @@ package com.ukrposhta.project.exceptions;
 
 public class ProgrammerNotFoundException extends RuntimeException {
     public ProgrammerNotFoundException(String id) {
-        super("Could not find programmer with id: " + id);
+        super("Could not find programmer with id: " + id, null, false, false);
     }
 }
@@ -2,6 +2,6 @@ package com.ukrposhta.project.exceptions;
 
 public class ProjectNotFoundException extends RuntimeException {
     public ProjectNotFoundException(String id) {
-        super("Could not find project with id: " + id);
+        super("Could not find project with id: " + id, null, false, false);
     }
 }
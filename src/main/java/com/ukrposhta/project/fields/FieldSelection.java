@@ -0,0 +1,148 @@
+package com.ukrposhta.project.fields;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ukrposhta.project.exceptions.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The response shape a client asked for. {@code fields} lists the properties to write, dotted
+ * to reach into a relation ({@code projects.projectName}); {@code expand} names relations to
+ * load. Paths are at most {@link #MAX_DEPTH} deep and expansions are one hop, and expanded
+ * relations are always summaries, so no request can walk the entity graph.
+ */
+public record FieldSelection(Set<String> fields, Set<String> expand) {
+
+    public static final String FIELDS = "fields";
+    public static final String EXPAND = "expand";
+    public static final int MAX_DEPTH = 2;
+
+    private static final String ID = "id";
+
+    public static FieldSelection of(Collection<String> fields, Collection<String> expand) {
+        var selection = new FieldSelection(split(fields), split(expand));
+        for (var field : selection.fields) {
+            if (field.split("\\.", -1).length > MAX_DEPTH || Arrays.stream(field.split("\\.", -1)).anyMatch(String::isBlank)) {
+                throw new InvalidFieldSelectionException("Invalid field: " + field + ", at most " + MAX_DEPTH + " levels");
+            }
+        }
+        for (var relation : selection.expand) {
+            if (relation.contains(".")) {
+                throw new InvalidFieldSelectionException("Invalid expansion: " + relation + ", only direct relations expand");
+            }
+        }
+        return selection;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty() && expand.isEmpty();
+    }
+
+    /**
+     * Relations to load: the expanded ones plus those that {@code fields} names or reaches into.
+     */
+    public Set<String> relations(Set<String> available) {
+        var relations = new HashSet<String>();
+        for (var relation : expand) {
+            if (!available.contains(relation)) {
+                throw new InvalidFieldSelectionException("Unknown relation: " + relation);
+            }
+            relations.add(relation);
+        }
+        for (var field : fields) {
+            var head = field.split("\\.")[0];
+            if (available.contains(head)) {
+                relations.add(head);
+            }
+        }
+        return relations;
+    }
+
+    /**
+     * Rejects paths that do not name a property of {@code type}. A path reaches into a relation
+     * through its element type; below a map, keys are data and are not checked.
+     */
+    public void validate(ObjectMapper objectMapper, JavaType type) {
+        for (var field : fields) {
+            var current = type;
+            for (var name : field.split("\\.")) {
+                if (current.isCollectionLikeType() || current.isArrayType()) {
+                    current = current.getContentType();
+                }
+                if (current.isMapLikeType()) {
+                    break;
+                }
+                current = objectMapper.getSerializationConfig().introspect(current).findProperties().stream()
+                        .filter(property -> property.getName().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new InvalidFieldSelectionException("Unknown field: " + field))
+                        .getPrimaryType();
+            }
+        }
+    }
+
+    /**
+     * Drops every property not selected from an object, or from each element of an array.
+     * {@code id} and expanded relations are always kept.
+     */
+    public JsonNode prune(JsonNode node) {
+        if (fields.isEmpty()) {
+            return node;
+        }
+        var keep = new HashSet<>(expand);
+        keep.add(ID);
+        return prune(node, fields, keep);
+    }
+
+    private static JsonNode prune(JsonNode node, Collection<String> paths, Set<String> keep) {
+        if (node.isArray()) {
+            node.forEach(element -> prune(element, paths, keep));
+            return node;
+        }
+        if (!(node instanceof ObjectNode object)) {
+            return node;
+        }
+
+        // null marks a property selected as a whole
+        var children = new HashMap<String, Set<String>>();
+        for (var path : paths) {
+            var dot = path.indexOf('.');
+            var head = dot < 0 ? path : path.substring(0, dot);
+            if (dot < 0) {
+                children.put(head, null);
+            } else if (!children.containsKey(head) || children.get(head) != null) {
+                children.computeIfAbsent(head, key -> new HashSet<>()).add(path.substring(dot + 1));
+            }
+        }
+
+        var retained = new HashSet<>(keep);
+        retained.addAll(children.keySet());
+        object.retain(retained);
+
+        for (Map.Entry<String, Set<String>> child : children.entrySet()) {
+            if (child.getValue() != null && object.has(child.getKey())) {
+                prune(object.get(child.getKey()), child.getValue(), Set.of(ID));
+            }
+        }
+        return object;
+    }
+
+    private static Set<String> split(Collection<String> values) {
+        var parts = new LinkedHashSet<String>();
+        if (values != null) {
+            for (var value : values) {
+                Arrays.stream(value.split(",")).map(String::trim).filter(part -> !part.isEmpty()).forEach(parts::add);
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ukrposhta.project.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ukrposhta.project.controllers.ManagerController;
+import com.ukrposhta.project.controllers.ProgrammerController;
+import com.ukrposhta.project.controllers.ProjectController;
+import com.ukrposhta.project.dto.PageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@code ?fields=} to the JSON of every GET endpoint of the entity controllers. For a
+ * page the selection applies to each item of {@code content}. Paths that name no property of
+ * the response are rejected with 400.
+ */
+@ControllerAdvice(assignableTypes = {ManagerController.class, ProgrammerController.class, ProjectController.class})
+@RequiredArgsConstructor
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(GetMapping.class)
+                && MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        var fields = servletRequest.getServletRequest().getParameterValues(FieldSelection.FIELDS);
+        if (fields == null) {
+            return body;
+        }
+
+        var selection = FieldSelection.of(Arrays.asList(fields),
+                listOf(servletRequest.getServletRequest().getParameterValues(FieldSelection.EXPAND)));
+        var type = bodyType(returnType);
+        if (body instanceof PageDTO<?>) {
+            selection.validate(objectMapper, objectMapper.constructType(type.getGeneric(0).getType()));
+            ObjectNode page = objectMapper.valueToTree(body);
+            selection.prune(page.get("content"));
+            return page;
+        }
+        selection.validate(objectMapper, type.toClass() == Object.class
+                ? objectMapper.constructType(body.getClass())
+                : objectMapper.constructType(type.getType()));
+        return selection.prune(objectMapper.valueToTree(body));
+    }
+
+    /**
+     * The declared body type; {@code Object} for {@code ResponseEntity<?>}, whose body class
+     * then stands in for it.
+     */
+    private static ResolvableType bodyType(MethodParameter returnType) {
+        var type = ResolvableType.forMethodParameter(returnType);
+        return ResponseEntity.class.isAssignableFrom(type.toClass()) ? type.getGeneric(0) : type;
+    }
+
+    private static List<String> listOf(String[] values) {
+        return values == null ? List.of() : Arrays.asList(values);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ukrposhta.project.ids;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over UUIDs with 4-bit counters instead of bits, so that ids can be removed
+ * again. Counters are packed sixteen to a word and updated with CAS, without locking.
+ * A counter that reaches 15 stays there: removing through it could otherwise zero a
+ * counter another id still needs, and a stuck counter only costs false positives.
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long SATURATED = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final int counters;
+    private final int hashes;
+
+    CountingBloomFilter(long expectedIds, double falsePositiveRate) {
+        var expected = Math.max(1, expectedIds);
+        var optimal = Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        counters = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(COUNTERS_PER_WORD, optimal));
+        hashes = Math.max(1, (int) Math.round((double) counters / expected * Math.log(2)));
+        words = new AtomicLongArray((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    void add(UUID id) {
+        var h1 = h1(id);
+        var h2 = h2(id, h1);
+        for (int i = 0; i < hashes; i++) {
+            increment(index(h1, h2, i));
+        }
+    }
+
+    void remove(UUID id) {
+        var h1 = h1(id);
+        var h2 = h2(id, h1);
+        for (int i = 0; i < hashes; i++) {
+            decrement(index(h1, h2, i));
+        }
+    }
+
+    /**
+     * False means the id was never added (or has been removed); true may be a false positive.
+     */
+    boolean mightContain(UUID id) {
+        var h1 = h1(id);
+        var h2 = h2(id, h1);
+        for (int i = 0; i < hashes; i++) {
+            var index = index(h1, h2, i);
+            if (counter(words.get(index / COUNTERS_PER_WORD), shift(index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private void increment(int index) {
+        var word = index / COUNTERS_PER_WORD;
+        var shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            if (counter(current, shift) == SATURATED) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current + (1L << shift)));
+    }
+
+    private void decrement(int index) {
+        var word = index / COUNTERS_PER_WORD;
+        var shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            var counter = counter(current, shift);
+            if (counter == 0 || counter == SATURATED) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current - (1L << shift)));
+    }
+
+    private int index(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) counters);
+    }
+
+    private static int shift(int index) {
+        return (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    private static long counter(long word, int shift) {
+        return (word >>> shift) & SATURATED;
+    }
+
+    // time-ordered ids share their high bits, so both halves go through the mixer
+    private static long h1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    private static long h2(UUID id, long h1) {
+        return mix(h1 ^ id.getLeastSignificantBits()) | 1;
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
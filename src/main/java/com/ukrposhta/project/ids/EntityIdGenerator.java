@@ -0,0 +1,33 @@
+package com.ukrposhta.project.ids;
+
+import com.ukrposhta.project.enums.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+@Slf4j
+public class EntityIdGenerator {
+
+    private final Map<EntityType, IdGenerator> generators = new EnumMap<>(EntityType.class);
+
+    public EntityIdGenerator(IdGeneratorProperties properties) {
+        // one instance per strategy, so ids of the same strategy stay ordered across entity types
+        var timeOrdered = new TimeOrderedIdGenerator();
+        var random = new RandomIdGenerator();
+        for (var type : EntityType.values()) {
+            var strategy = properties.strategyFor(type);
+            generators.put(type, strategy == IdGeneratorProperties.Strategy.RANDOM ? random : timeOrdered);
+            log.info("Ids of {} use the {} strategy", type, strategy);
+        }
+    }
+
+    public UUID next(EntityType type) {
+        return generators.get(type).next();
+    }
+}
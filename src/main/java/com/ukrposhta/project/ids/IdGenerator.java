@@ -0,0 +1,8 @@
+package com.ukrposhta.project.ids;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID next();
+}
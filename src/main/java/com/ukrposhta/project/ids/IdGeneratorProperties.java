@@ -0,0 +1,31 @@
+package com.ukrposhta.project.ids;
+
+import com.ukrposhta.project.enums.EntityType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Id strategy per entity under {@code app.ids.strategies.<entityType>};
+ * types without an entry use {@code app.ids.default-strategy}.
+ */
+@ConfigurationProperties(prefix = "app.ids")
+@Getter
+@Setter
+public class IdGeneratorProperties {
+
+    private Strategy defaultStrategy = Strategy.TIME_ORDERED;
+    private Map<EntityType, Strategy> strategies = new EnumMap<>(EntityType.class);
+
+    public Strategy strategyFor(EntityType type) {
+        return strategies.getOrDefault(type, defaultStrategy);
+    }
+
+    public enum Strategy {
+        RANDOM,
+        TIME_ORDERED
+    }
+}
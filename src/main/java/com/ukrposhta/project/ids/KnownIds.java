@@ -0,0 +1,144 @@
+package com.ukrposhta.project.ids;
+
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.exceptions.ManagerNotFoundException;
+import com.ukrposhta.project.exceptions.ProgrammerNotFoundException;
+import com.ukrposhta.project.exceptions.ProjectNotFoundException;
+import com.ukrposhta.project.repositories.EntityIdRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-type {@link CountingBloomFilter} of the ids in manager, programmer and project, so that
+ * lookups of ids that never existed are answered without touching the database.
+ * Built before the application takes traffic; every JPA insert adds its id as it happens
+ * (see {@link KnownIdsListener}) and deletes remove theirs after commit, so the filters can
+ * only err towards "might exist", which the caller's query then settles.
+ * The filters only see writes made through this instance, so they are only enabled
+ * (see {@link KnownIdsProperties}) where this instance is the single writer.
+ */
+@Component
+@EnableConfigurationProperties(KnownIdsProperties.class)
+@Slf4j
+public class KnownIds {
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private final Map<EntityType, CountingBloomFilter> filters = new EnumMap<>(EntityType.class);
+    private final Map<EntityType, Counter> rejected = new EnumMap<>(EntityType.class);
+
+    public KnownIds(KnownIdsProperties properties, EntityIdRepository entityIdRepository, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            log.info("Known id filters are disabled");
+            return;
+        }
+        for (var type : EntityType.values()) {
+            var started = System.nanoTime();
+            var count = entityIdRepository.count(type);
+            var filter = new CountingBloomFilter(Math.max(properties.getMinimumCapacity(), 2 * count),
+                    properties.getFalsePositiveRate());
+
+            UUID after = null;
+            List<UUID> chunk;
+            do {
+                chunk = entityIdRepository.findIdsAfter(type, after, LOAD_CHUNK_SIZE);
+                chunk.forEach(filter::add);
+                after = chunk.isEmpty() ? after : chunk.get(chunk.size() - 1);
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+            filters.put(type, filter);
+            rejected.put(type, Counter.builder("knownids.rejected").tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+            log.info("Built known id filter of {} with {} ids ({} KB) in {} ms", type, count,
+                    filter.sizeInBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Parses {@code id} and throws the type's not-found exception if it definitely does not exist.
+     */
+    public UUID require(EntityType type, String id) {
+        var uuid = UUID.fromString(id);
+        if (!mightExist(type, uuid)) {
+            throw notFound(type, id);
+        }
+        return uuid;
+    }
+
+    public boolean mightExist(EntityType type, UUID id) {
+        var filter = filters.get(type);
+        if (filter == null || filter.mightContain(id)) {
+            return true;
+        }
+        rejected.get(type).increment();
+        return false;
+    }
+
+    /**
+     * The given ids without those that definitely do not exist, in iteration order.
+     */
+    public Set<UUID> retainMightExist(EntityType type, Collection<UUID> ids) {
+        var result = new LinkedHashSet<UUID>();
+        for (var id : ids) {
+            if (mightExist(type, id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes effect immediately: if the insert rolls back, the id is only a false positive.
+     */
+    public void add(EntityType type, UUID id) {
+        var filter = filters.get(type);
+        if (filter != null) {
+            filter.add(id);
+        }
+    }
+
+    /**
+     * Inside a transaction waits for its commit, so a rolled-back delete never hides an id
+     * that still exists. Callers pass only the ids their own delete removed: removing an id
+     * twice would clear counters that live ids share.
+     */
+    public void removeAll(EntityType type, Collection<UUID> ids) {
+        var filter = filters.get(type);
+        if (filter == null || ids.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            var pending = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(filter::remove);
+                }
+            });
+        } else {
+            ids.forEach(filter::remove);
+        }
+    }
+
+    public static RuntimeException notFound(EntityType type, String id) {
+        return switch (type) {
+            case MANAGER -> new ManagerNotFoundException(id);
+            case PROGRAMMER -> new ProgrammerNotFoundException(id);
+            case PROJECT -> new ProjectNotFoundException(id);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.ukrposhta.project.ids;
+
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+
+/**
+ * Entity listener that adds every inserted manager, programmer and project to {@link KnownIds};
+ * Hibernate gets the bean from Spring.
+ */
+@Component
+@RequiredArgsConstructor
+public class KnownIdsListener {
+
+    private final KnownIds knownIds;
+
+    @PostPersist
+    void persisted(Object entity) {
+        if (entity instanceof Manager manager) {
+            knownIds.add(EntityType.MANAGER, manager.getId());
+        } else if (entity instanceof Programmer programmer) {
+            knownIds.add(EntityType.PROGRAMMER, programmer.getId());
+        } else if (entity instanceof Project project) {
+            knownIds.add(EntityType.PROJECT, project.getId());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ukrposhta.project.ids;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the {@link KnownIds} filters under {@code app.known-ids}. Each filter is sized
+ * for twice the ids found at startup, and for at least {@code minimum-capacity}. Off by default:
+ * ids inserted by another instance would be rejected here until restart.
+ */
+@ConfigurationProperties(prefix = "app.known-ids")
+@Getter
+@Setter
+public class KnownIdsProperties {
+
+    private boolean enabled = false;
+    private double falsePositiveRate = 0.01;
+    private long minimumCapacity = 100_000;
+}
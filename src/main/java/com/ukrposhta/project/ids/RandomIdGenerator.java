@@ -0,0 +1,14 @@
+package com.ukrposhta.project.ids;
+
+import java.util.UUID;
+
+/**
+ * Version 4 UUIDs, as the entities used before. Inserts land on random index pages.
+ */
+public class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
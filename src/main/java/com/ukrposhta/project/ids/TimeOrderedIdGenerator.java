@@ -0,0 +1,58 @@
+package com.ukrposhta.project.ids;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * UUIDv7-style ids: 48 bits of Unix milliseconds, then a 12-bit counter and 62 random bits.
+ * New ids sort after older ones, so primary-key inserts append to the right edge of the
+ * B-tree instead of splitting pages all over it. Within one millisecond the counter keeps
+ * ids from this generator strictly increasing; when it runs out the timestamp is borrowed
+ * from the next millisecond.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis;
+    private int counter;
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long millis;
+        int sequence;
+        synchronized (this) {
+            millis = Math.max(clock.millis(), lastMillis);
+            if (millis == lastMillis) {
+                if (counter == MAX_COUNTER) {
+                    millis++;
+                    counter = random.nextInt(MAX_COUNTER / 2);
+                } else {
+                    counter++;
+                }
+            } else {
+                // start low in the range so a burst within one millisecond has room to count up
+                counter = random.nextInt(MAX_COUNTER / 2);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+
+        long mostSignificant = (millis << 16) | (0x7L << 12) | sequence;
+        long leastSignificant = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
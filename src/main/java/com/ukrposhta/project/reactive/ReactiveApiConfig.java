@@ -0,0 +1,91 @@
+package com.ukrposhta.project.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.ids.KnownIds;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Non-blocking mirror of the reads of the manager, programmer and project controllers:
+ * WebFlux handlers over R2DBC on their own Netty server at {@code app.reactive.port}, so a slow
+ * query holds a connection but no thread. Writes stay on the MVC API, which maintains the
+ * versions, known ids and staffing counters these reads rely on.
+ * <p>
+ * The connection pool is built from {@code spring.r2dbc} but is not a {@code ConnectionFactory}
+ * bean: Boot's JDBC datasource, which everything else runs on, backs off once one exists, which
+ * is also why {@code R2dbcAutoConfiguration} is excluded.
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ReactiveApiProperties.class, R2dbcProperties.class})
+public class ReactiveApiConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveApiConfig(R2dbcProperties properties) {
+        var options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        var map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(properties.getUsername()).to(username -> options.option(ConnectionFactoryOptions.USER, username));
+        map.from(properties.getPassword()).to(password -> options.option(ConnectionFactoryOptions.PASSWORD, password));
+
+        var pool = properties.getPool();
+        var builder = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize());
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        connectionPool = new ConnectionPool(builder.build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(DatabaseClient reactiveDatabaseClient, KnownIds knownIds, ObjectMapper objectMapper,
+                                         ReactiveApiProperties properties, ServerProperties serverProperties) {
+        var managers = new ReactiveManagerRepository(reactiveDatabaseClient, properties.getFetchSize());
+        var programmers = new ReactiveProgrammerRepository(reactiveDatabaseClient, properties.getFetchSize());
+        var projects = new ReactiveProjectRepository(reactiveDatabaseClient, properties.getFetchSize());
+        var responses = new ReactiveResponses(new ReactiveVersionRepository(reactiveDatabaseClient), knownIds, objectMapper);
+
+        var routes = new ReactiveManagerHandler(managers, projects, responses).routes()
+                .and(new ReactiveProgrammerHandler(programmers, projects, responses).routes())
+                .and(new ReactiveProjectHandler(projects, managers, programmers, responses).routes());
+        var strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveServer(RouterFunctions.toHttpHandler(routes, strategies), serverProperties.getAddress(),
+                properties.getPort());
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ukrposhta.project.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The reactive read API under {@code app.reactive}. Its connections are {@code spring.r2dbc}.
+ */
+@ConfigurationProperties(prefix = "app.reactive")
+@Getter
+@Setter
+public class ReactiveApiProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Port of the reactive API's own server; the MVC API stays on {@code server.port}.
+     */
+    private int port = 8082;
+
+    /**
+     * Rows a collection query fetches at a time, so a client that reads slowly also slows
+     * down the read from the database instead of having the result buffered for it.
+     */
+    private int fetchSize = 100;
+}
@@ -0,0 +1,52 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.controllers.ManagerController;
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.dto.ManagerViewDTO;
+import com.ukrposhta.project.enums.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reads of {@link ManagerController} without field selection.
+ */
+@RequiredArgsConstructor
+class ReactiveManagerHandler {
+
+    private final ReactiveManagerRepository managerRepository;
+    private final ReactiveProjectRepository projectRepository;
+    private final ReactiveResponses responses;
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/manager", this::getManagers)
+                .GET("/api/v1/manager/{managerId}", this::getManagerById)
+                .POST("/api/v1/manager/batch", this::getManagersByIds)
+                .GET("/api/v1/manager/projects/{managerId}", this::getProjectsByManagerId)
+                .build();
+    }
+
+    Mono<ServerResponse> getManagers(ServerRequest request) {
+        return responses.page(request, managerRepository::findSummaries, ManagerSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getManagerById(ServerRequest request) {
+        return responses.respond(request, EntityType.MANAGER, request.pathVariable("managerId"),
+                managerId -> managerRepository.findSummaryById(managerId)
+                        .flatMap(manager -> projectRepository.findSummariesByManagerId(managerId).collectList()
+                                .map(projects -> new ManagerViewDTO(manager.id(), manager.name(), projects))));
+    }
+
+    Mono<ServerResponse> getManagersByIds(ServerRequest request) {
+        return responses.batch(request, EntityType.MANAGER, managerRepository::findSummariesByIdIn, ManagerSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getProjectsByManagerId(ServerRequest request) {
+        return responses.respondList(request, EntityType.MANAGER, request.pathVariable("managerId"),
+                projectRepository::findSummariesByManagerId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The summary queries of {@link ManagerRepository} over R2DBC.
+ */
+@RequiredArgsConstructor
+class ReactiveManagerRepository {
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    Mono<ManagerSummaryDTO> findSummaryById(UUID id) {
+        return sql("select id, name from manager where id = :id")
+                .bind("id", id)
+                .map(ReactiveManagerRepository::summary)
+                .one();
+    }
+
+    Flux<ManagerSummaryDTO> findSummariesByIdIn(Collection<UUID> ids) {
+        return sql("select id, name from manager where id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveManagerRepository::summary)
+                .all();
+    }
+
+    Flux<ManagerSummaryDTO> findSummaries(UUID after, int limit) {
+        var spec = after == null
+                ? sql("select id, name from manager order by id limit :limit")
+                : sql("select id, name from manager where id > :after order by id limit :limit").bind("after", after);
+        return spec.bind("limit", limit)
+                .map(ReactiveManagerRepository::summary)
+                .all();
+    }
+
+    Flux<ManagerSummaryDTO> findSummariesByProjectId(UUID projectId) {
+        return sql("select m.id, m.name from manager m join manager_project mp on mp.manager_id = m.id"
+                + " where mp.project_id = :projectId order by m.id")
+                .bind("projectId", projectId)
+                .map(ReactiveManagerRepository::summary)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec sql(String sql) {
+        return databaseClient.sql(sql).filter(statement -> statement.fetchSize(fetchSize));
+    }
+
+    private static ManagerSummaryDTO summary(Row row) {
+        return new ManagerSummaryDTO(row.get("id", UUID.class), row.get("name", String.class));
+    }
+}
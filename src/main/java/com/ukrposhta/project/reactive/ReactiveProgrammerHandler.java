@@ -0,0 +1,54 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.controllers.ProgrammerController;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.dto.ProgrammerViewDTO;
+import com.ukrposhta.project.enums.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reads of {@link ProgrammerController} without field selection or search.
+ */
+@RequiredArgsConstructor
+class ReactiveProgrammerHandler {
+
+    private final ReactiveProgrammerRepository programmerRepository;
+    private final ReactiveProjectRepository projectRepository;
+    private final ReactiveResponses responses;
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/programmer", this::getProgrammers)
+                .GET("/api/v1/programmer/{programmerId}", this::getProgrammerById)
+                .POST("/api/v1/programmer/batch", this::getProgrammersByIds)
+                .GET("/api/v1/programmer/projects/{programmerId}", this::getProjectsByProgrammerId)
+                .build();
+    }
+
+    Mono<ServerResponse> getProgrammers(ServerRequest request) {
+        return responses.page(request, programmerRepository::findSummaries, ProgrammerSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getProgrammerById(ServerRequest request) {
+        return responses.respond(request, EntityType.PROGRAMMER, request.pathVariable("programmerId"),
+                programmerId -> programmerRepository.findSummaryById(programmerId)
+                        .flatMap(programmer -> projectRepository.findSummariesByProgrammerId(programmerId).collectList()
+                                .map(projects -> new ProgrammerViewDTO(programmer.id(), programmer.name(),
+                                        programmer.skillLevel(), programmer.type(), projects))));
+    }
+
+    Mono<ServerResponse> getProgrammersByIds(ServerRequest request) {
+        return responses.batch(request, EntityType.PROGRAMMER, programmerRepository::findSummariesByIdIn,
+                ProgrammerSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getProjectsByProgrammerId(ServerRequest request) {
+        return responses.respondList(request, EntityType.PROGRAMMER, request.pathVariable("programmerId"),
+                projectRepository::findSummariesByProgrammerId);
+    }
+}
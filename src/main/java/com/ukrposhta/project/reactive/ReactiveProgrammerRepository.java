@@ -0,0 +1,67 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The summary queries of {@link ProgrammerRepository} over R2DBC.
+ */
+@RequiredArgsConstructor
+class ReactiveProgrammerRepository {
+
+    private static final String COLUMNS = "p.id, p.name, p.skill_level, p.type";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    Mono<ProgrammerSummaryDTO> findSummaryById(UUID id) {
+        return sql("select " + COLUMNS + " from programmer p where p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProgrammerRepository::summary)
+                .one();
+    }
+
+    Flux<ProgrammerSummaryDTO> findSummariesByIdIn(Collection<UUID> ids) {
+        return sql("select " + COLUMNS + " from programmer p where p.id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveProgrammerRepository::summary)
+                .all();
+    }
+
+    Flux<ProgrammerSummaryDTO> findSummaries(UUID after, int limit) {
+        var spec = after == null
+                ? sql("select " + COLUMNS + " from programmer p order by p.id limit :limit")
+                : sql("select " + COLUMNS + " from programmer p where p.id > :after order by p.id limit :limit")
+                        .bind("after", after);
+        return spec.bind("limit", limit)
+                .map(ReactiveProgrammerRepository::summary)
+                .all();
+    }
+
+    Flux<ProgrammerSummaryDTO> findSummariesByProjectId(UUID projectId) {
+        return sql("select " + COLUMNS + " from programmer p join programmer_project pp on pp.programmer_id = p.id"
+                + " where pp.project_id = :projectId order by p.id")
+                .bind("projectId", projectId)
+                .map(ReactiveProgrammerRepository::summary)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec sql(String sql) {
+        return databaseClient.sql(sql).filter(statement -> statement.fetchSize(fetchSize));
+    }
+
+    private static ProgrammerSummaryDTO summary(Row row) {
+        return new ProgrammerSummaryDTO(row.get("id", UUID.class), row.get("name", String.class),
+                SkillLevel.fromCode(row.get("skill_level", Short.class)), ProgrammerType.fromCode(row.get("type", Short.class)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.controllers.ProjectController;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
+import com.ukrposhta.project.dto.ProjectViewDTO;
+import com.ukrposhta.project.enums.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The entity and member list reads of {@link ProjectController} without field selection.
+ */
+@RequiredArgsConstructor
+class ReactiveProjectHandler {
+
+    private final ReactiveProjectRepository projectRepository;
+    private final ReactiveManagerRepository managerRepository;
+    private final ReactiveProgrammerRepository programmerRepository;
+    private final ReactiveResponses responses;
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/project", this::getProjects)
+                .GET("/api/v1/project/{projectId}", this::getProjectById)
+                .POST("/api/v1/project/batch", this::getProjectsByIds)
+                .GET("/api/v1/project/managers/{projectId}", this::getManagersByProjectId)
+                .GET("/api/v1/project/programmers/{projectId}", this::getProgrammersByProjectId)
+                .build();
+    }
+
+    Mono<ServerResponse> getProjects(ServerRequest request) {
+        return responses.page(request, projectRepository::findSummaries, ProjectSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getProjectById(ServerRequest request) {
+        return responses.respond(request, EntityType.PROJECT, request.pathVariable("projectId"),
+                projectId -> projectRepository.findSummaryById(projectId)
+                        .map(project -> new ProjectViewDTO(project.id(), project.projectName(), null, null)));
+    }
+
+    Mono<ServerResponse> getProjectsByIds(ServerRequest request) {
+        return responses.batch(request, EntityType.PROJECT, projectRepository::findSummariesByIdIn, ProjectSummaryDTO::id);
+    }
+
+    Mono<ServerResponse> getManagersByProjectId(ServerRequest request) {
+        return responses.respondList(request, EntityType.PROJECT, request.pathVariable("projectId"),
+                managerRepository::findSummariesByProjectId);
+    }
+
+    Mono<ServerResponse> getProgrammersByProjectId(ServerRequest request) {
+        return responses.respondList(request, EntityType.PROJECT, request.pathVariable("projectId"),
+                programmerRepository::findSummariesByProjectId);
+    }
+}
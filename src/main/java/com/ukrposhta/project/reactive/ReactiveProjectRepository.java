@@ -0,0 +1,69 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The summary queries of {@link ProjectRepository} over R2DBC.
+ */
+@RequiredArgsConstructor
+class ReactiveProjectRepository {
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    Mono<ProjectSummaryDTO> findSummaryById(UUID id) {
+        return sql("select id, name from project where id = :id")
+                .bind("id", id)
+                .map(ReactiveProjectRepository::summary)
+                .one();
+    }
+
+    Flux<ProjectSummaryDTO> findSummariesByIdIn(Collection<UUID> ids) {
+        return sql("select id, name from project where id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveProjectRepository::summary)
+                .all();
+    }
+
+    Flux<ProjectSummaryDTO> findSummaries(UUID after, int limit) {
+        var spec = after == null
+                ? sql("select id, name from project order by id limit :limit")
+                : sql("select id, name from project where id > :after order by id limit :limit").bind("after", after);
+        return spec.bind("limit", limit)
+                .map(ReactiveProjectRepository::summary)
+                .all();
+    }
+
+    Flux<ProjectSummaryDTO> findSummariesByManagerId(UUID managerId) {
+        return sql("select p.id, p.name from project p join manager_project mp on mp.project_id = p.id"
+                + " where mp.manager_id = :managerId order by p.id")
+                .bind("managerId", managerId)
+                .map(ReactiveProjectRepository::summary)
+                .all();
+    }
+
+    Flux<ProjectSummaryDTO> findSummariesByProgrammerId(UUID programmerId) {
+        return sql("select p.id, p.name from project p join programmer_project pp on pp.project_id = p.id"
+                + " where pp.programmer_id = :programmerId order by p.id")
+                .bind("programmerId", programmerId)
+                .map(ReactiveProjectRepository::summary)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec sql(String sql) {
+        return databaseClient.sql(sql).filter(statement -> statement.fetchSize(fetchSize));
+    }
+
+    private static ProjectSummaryDTO summary(Row row) {
+        return new ProjectSummaryDTO(row.get("id", UUID.class), row.get("name", String.class));
+    }
+}
@@ -0,0 +1,153 @@
+package com.ukrposhta.project.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.BatchGetDTO;
+import com.ukrposhta.project.dto.BatchResultDTO;
+import com.ukrposhta.project.dto.PageDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * What ConditionalGet and GlobalControllerAdvice do for the MVC controllers, for the reactive
+ * handlers. Collections are written as JSON one element at a time, so rows are only read from
+ * the database as fast as the client takes the response.
+ */
+@RequiredArgsConstructor
+class ReactiveResponses {
+
+    private final ReactiveVersionRepository versionRepository;
+    private final KnownIds knownIds;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Answers If-None-Match / If-Modified-Since from the entity's version, or responds with
+     * {@code loader}'s body and the validators. The version is read first and without a
+     * transaction around both reads, so the body can only be newer than the ETag it goes out
+     * with; that costs the client one more full response later, never a stale 304.
+     */
+    Mono<ServerResponse> respond(ServerRequest request, EntityType type, String id, Function<UUID, Mono<?>> loader) {
+        return respond(request, type, id, (uuid, response) -> loader.apply(uuid).flatMap(response::bodyValue));
+    }
+
+    /**
+     * Like {@link #respond} for a member list, streamed as a JSON array.
+     */
+    Mono<ServerResponse> respondList(ServerRequest request, EntityType type, String id, Function<UUID, Flux<?>> loader) {
+        return respond(request, type, id,
+                (uuid, response) -> response.body(BodyInserters.fromDataBuffers(array(loader.apply(uuid)))));
+    }
+
+    /**
+     * A {@link PageDTO} from the {@code after} and {@code size} parameters, streamed; the next
+     * cursor is only known once the last row has been written.
+     */
+    <T> Mono<ServerResponse> page(ServerRequest request, BiFunction<UUID, Integer, Flux<T>> loader,
+                                  Function<T, UUID> idExtractor) {
+        var after = request.queryParam("after").map(UUID::fromString).orElse(null);
+        var size = PageDTO.pageRequest(request.queryParam("size").map(Integer::parseInt).orElse(PageDTO.DEFAULT_SIZE))
+                .getPageSize();
+        var body = Flux.defer(() -> {
+            var count = new AtomicInteger();
+            var last = new AtomicReference<T>();
+            var content = loader.apply(after, size).doOnNext(element -> {
+                count.incrementAndGet();
+                last.set(element);
+            });
+            return Flux.concat(Mono.fromSupplier(() -> buffer("{\"content\":")), array(content),
+                    Mono.fromSupplier(() -> {
+                        var nextCursor = count.get() < size ? null : idExtractor.apply(last.get()).toString();
+                        return buffer(",\"nextCursor\":").write(json(nextCursor)).write((byte) '}');
+                    }));
+        });
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(BodyInserters.fromDataBuffers(body));
+    }
+
+    /**
+     * A {@link BatchResultDTO} for the posted ids. The result is collected, as it follows request
+     * order; its size is bounded by the request.
+     */
+    <T> Mono<ServerResponse> batch(ServerRequest request, EntityType type, Function<Collection<UUID>, Flux<T>> loader,
+                                   Function<T, UUID> idExtractor) {
+        return request.bodyToMono(BatchGetDTO.class)
+                .flatMap(batch -> {
+                    var requested = Ids.parse(batch.ids());
+                    return Flux.fromIterable(Ids.chunks(knownIds.retainMightExist(type, requested.values())))
+                            .concatMap(loader)
+                            .collectMap(idExtractor)
+                            .map(loaded -> BatchResultDTO.of(requested, batch.ids(), loaded));
+                })
+                .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(result));
+    }
+
+    private Mono<ServerResponse> respond(ServerRequest request, EntityType type, String id,
+                                         BiFunction<UUID, ServerResponse.BodyBuilder, Mono<ServerResponse>> body) {
+        var uuid = UUID.fromString(id);
+        if (!knownIds.mightExist(type, uuid)) {
+            return notFound();
+        }
+        return versionRepository.findVersion(type, uuid)
+                .flatMap(version -> request.checkNotModified(version.lastModified(), version.etag())
+                        .switchIfEmpty(Mono.defer(() -> body.apply(uuid, ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .eTag(version.etag())
+                                .lastModified(version.lastModified())))))
+                .switchIfEmpty(Mono.defer(ReactiveResponses::notFound));
+    }
+
+    private static Mono<ServerResponse> notFound() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", "Data doesn't match");
+
+        return ServerResponse.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private Flux<DataBuffer> array(Flux<?> elements) {
+        var content = elements.index().map(element -> {
+            var json = json(element.getT2());
+            return element.getT1() == 0 ? buffer(json) : buffer(",").write(json);
+        });
+        return Flux.concat(Mono.fromSupplier(() -> buffer("[")), content,
+                Mono.fromSupplier(() -> buffer("]")));
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataBuffer buffer(String text) {
+        return buffer(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DataBuffer buffer(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.allocateBuffer(bytes.length).write(bytes);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ukrposhta.project.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.InetAddress;
+
+/**
+ * Reactor Netty server of the reactive API. The application is a servlet application, so Boot
+ * starts no reactive server of its own; this one runs next to Tomcat on its own port.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final InetAddress address;
+    private final int port;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        var httpServer = HttpServer.create().port(port).handle(new ReactorHttpHandlerAdapter(httpHandler));
+        if (address != null) {
+            httpServer = httpServer.host(address.getHostAddress());
+        }
+        server = httpServer.bindNow();
+        log.info("Reactive API started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        server.disposeNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The bound port, which differs from the configured one when that was 0.
+     */
+    public int getPort() {
+        return server.port();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ukrposhta.project.reactive;
+
+import com.ukrposhta.project.dto.EntityVersionDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.repositories.VersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * {@link VersionRepository#findVersion} over R2DBC, so both APIs send the same validators.
+ */
+@RequiredArgsConstructor
+class ReactiveVersionRepository {
+
+    private final DatabaseClient databaseClient;
+
+    Mono<EntityVersionDTO> findVersion(EntityType type, UUID id) {
+        return databaseClient.sql(VersionRepository.findVersionSql(type))
+                .bind("id", id)
+                .map((row, metadata) -> EntityVersionDTO.of(row.get(0, Long.class), instant(row.get(1, LocalDateTime.class)),
+                        Objects.requireNonNullElse(row.get(2, Long.class), 0L), instant(row.get(3, LocalDateTime.class))))
+                .first();
+    }
+
+    /**
+     * modified_at is a timestamp without time zone, read in the JVM's zone as JDBC reads it.
+     */
+    private static Instant instant(LocalDateTime timestamp) {
+        return timestamp == null ? null : timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
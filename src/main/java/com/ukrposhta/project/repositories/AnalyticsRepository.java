@@ -0,0 +1,81 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.ManagerRankDTO;
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.dto.ProgrammerBreakdownDTO;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregations over the entity and join tables. Every query returns either grouped counts
+ * or one keyset page of summaries, so no entity or collection is ever loaded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ProgrammerBreakdownDTO> countProgrammersBySkillLevelAndType() {
+        return jdbcTemplate.query(
+                "select skill_level, type, count(*) from programmer group by skill_level, type order by skill_level, type",
+                (rs, rowNum) -> new ProgrammerBreakdownDTO(SkillLevel.fromCode(rs.getShort(1)),
+                        ProgrammerType.fromCode(rs.getShort(2)), rs.getLong(3)));
+    }
+
+    public List<ManagerRankDTO> rankManagersByProjectCount(int limit) {
+        return jdbcTemplate.query(
+                "select m.id, m.name, count(mp.project_id) as projects from manager m"
+                        + " left join manager_project mp on mp.manager_id = m.id"
+                        + " group by m.id, m.name order by projects desc, m.id limit :limit",
+                new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new ManagerRankDTO(rs.getObject(1, UUID.class), rs.getString(2), rs.getLong(3)));
+    }
+
+    public List<ProjectSummaryDTO> findProjectsWithoutSkillLevel(SkillLevel skillLevel, UUID after, int limit) {
+        var params = page(after, limit).addValue("skillLevel", skillLevel.getCode());
+        return jdbcTemplate.query(
+                "select p.id, p.name from project p where p.id > :after and not exists ("
+                        + "select 1 from programmer_project pp join programmer g on g.id = pp.programmer_id"
+                        + " where pp.project_id = p.id and g.skill_level = :skillLevel)"
+                        + " order by p.id limit :limit",
+                params,
+                (rs, rowNum) -> new ProjectSummaryDTO(rs.getObject(1, UUID.class), rs.getString(2)));
+    }
+
+    public List<ManagerSummaryDTO> findUnassignedManagers(UUID after, int limit) {
+        return jdbcTemplate.query(
+                "select m.id, m.name from manager m where m.id > :after"
+                        + " and not exists (select 1 from manager_project mp where mp.manager_id = m.id)"
+                        + " order by m.id limit :limit",
+                page(after, limit),
+                (rs, rowNum) -> new ManagerSummaryDTO(rs.getObject(1, UUID.class), rs.getString(2)));
+    }
+
+    public List<ProgrammerSummaryDTO> findUnassignedProgrammers(UUID after, int limit) {
+        return jdbcTemplate.query(
+                "select g.id, g.name, g.skill_level, g.type from programmer g where g.id > :after"
+                        + " and not exists (select 1 from programmer_project pp where pp.programmer_id = g.id)"
+                        + " order by g.id limit :limit",
+                page(after, limit),
+                (rs, rowNum) -> new ProgrammerSummaryDTO(rs.getObject(1, UUID.class), rs.getString(2),
+                        SkillLevel.fromCode(rs.getShort(3)), ProgrammerType.fromCode(rs.getShort(4))));
+    }
+
+    /**
+     * The nil UUID sorts before every id, so the first page needs no separate query.
+     */
+    private static MapSqlParameterSource page(UUID after, int limit) {
+        return new MapSqlParameterSource("after", after == null ? new UUID(0, 0) : after)
+                .addValue("limit", limit);
+    }
+}
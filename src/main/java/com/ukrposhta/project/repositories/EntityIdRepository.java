@@ -0,0 +1,57 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Walks and locks the ids of manager, programmer or project in id order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EntityIdRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long count(EntityType type) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table(type), new MapSqlParameterSource(), Long.class);
+    }
+
+    public List<UUID> findIdsAfter(EntityType type, UUID after, int limit) {
+        var params = new MapSqlParameterSource("limit", limit);
+        var sql = "select id from " + table(type) + " order by id limit :limit";
+        if (after != null) {
+            sql = "select id from " + table(type) + " where id > :after order by id limit :limit";
+            params.addValue("after", after);
+        }
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Locks the rows of the given ids that still exist until commit, in id order. A concurrent
+     * delete of the same ids waits here and then finds them gone, so every id is reported as
+     * deleted by exactly one transaction.
+     */
+    public Set<UUID> lockExisting(EntityType type, Collection<UUID> ids) {
+        var sql = "select id from " + table(type) + " where id in (:ids) order by id for update";
+        var existing = new HashSet<UUID>();
+        for (var chunk : Ids.chunks(Ids.sorted(ids))) {
+            existing.addAll(jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk),
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return existing;
+    }
+
+    private static String table(EntityType type) {
+        return type.name().toLowerCase();
+    }
+}
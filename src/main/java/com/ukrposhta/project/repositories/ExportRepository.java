@@ -0,0 +1,78 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.dto.ProjectExportDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Walks the whole staffing graph in one query ordered by project, reading it through a
+ * server-side cursor with a fixed fetch size. Only the members of the current project are
+ * held in memory. The PostgreSQL driver only uses a cursor inside a transaction, so callers
+ * must run this in one.
+ */
+@Repository
+public class ExportRepository {
+
+    public static final int FETCH_SIZE = 1000;
+
+    private static final int PROJECT_ROW = 0;
+    private static final int MANAGER_ROW = 1;
+
+    private static final String STAFFING_SQL = """
+            select p.id as project_id, p.name as project_name, 0 as row_kind,
+                   null as member_id, null as member_name, null as skill_level, null as type
+            from project p
+            union all
+            select mp.project_id, null, 1, m.id, m.name, null, null
+            from manager_project mp
+                     join manager m on m.id = mp.manager_id
+            union all
+            select pp.project_id, null, 2, g.id, g.name, g.skill_level, g.type
+            from programmer_project pp
+                     join programmer g on g.id = pp.programmer_id
+            order by project_id, row_kind, member_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void streamProjects(Consumer<ProjectExportDTO> consumer) {
+        var current = new ProjectExportDTO[1];
+
+        jdbcTemplate.query(STAFFING_SQL, rs -> {
+            var rowKind = rs.getInt("row_kind");
+            if (rowKind == PROJECT_ROW) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = new ProjectExportDTO(rs.getObject("project_id", UUID.class),
+                        rs.getString("project_name"), new ArrayList<>(), new ArrayList<>());
+            } else if (rowKind == MANAGER_ROW) {
+                current[0].managers().add(new ManagerSummaryDTO(rs.getObject("member_id", UUID.class),
+                        rs.getString("member_name")));
+            } else {
+                current[0].programmers().add(new ProgrammerSummaryDTO(rs.getObject("member_id", UUID.class),
+                        rs.getString("member_name"),
+                        SkillLevel.fromCode(rs.getShort("skill_level")),
+                        ProgrammerType.fromCode(rs.getShort("type"))));
+            }
+        });
+
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.ImportRecordDTO;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Plain JDBC batch inserts for the import path. Ids are assigned by the caller, so there is
+ * no select-before-insert per row; instead each batch looks up which of its ids already exist
+ * and inserts only the others. The batch update counts are not used: with
+ * {@code reWriteBatchedInserts} pgjdbc reports SUCCESS_NO_INFO for every row of a rewritten
+ * batch. {@code on conflict do nothing} still covers an id inserted concurrently between the
+ * lookup and the insert, which is then reported as imported.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * @return the ids inserted; an id that already existed, or came earlier in the list, is not
+     */
+    public Set<UUID> insertManagers(List<ImportRecordDTO> managers) {
+        var fresh = fresh("manager", managers);
+        jdbcTemplate.batchUpdate("insert into manager (id, name) values (?, ?) on conflict do nothing",
+                fresh, Ids.CHUNK_SIZE, (ps, manager) -> {
+                    ps.setObject(1, manager.id());
+                    ps.setString(2, manager.name());
+                });
+        return ids(fresh);
+    }
+
+    public Set<UUID> insertProgrammers(List<ImportRecordDTO> programmers) {
+        var fresh = fresh("programmer", programmers);
+        jdbcTemplate.batchUpdate(
+                "insert into programmer (id, name, skill_level, type) values (?, ?, ?, ?) on conflict do nothing",
+                fresh, Ids.CHUNK_SIZE, (ps, programmer) -> {
+                    ps.setObject(1, programmer.id());
+                    ps.setString(2, programmer.name());
+                    ps.setShort(3, programmer.skillLevel().getCode());
+                    ps.setShort(4, programmer.type().getCode());
+                });
+        return ids(fresh);
+    }
+
+    public Set<UUID> insertProjects(List<ImportRecordDTO> projects) {
+        var fresh = fresh("project", projects);
+        jdbcTemplate.batchUpdate("insert into project (id, name) values (?, ?) on conflict do nothing",
+                fresh, Ids.CHUNK_SIZE, (ps, project) -> {
+                    ps.setObject(1, project.id());
+                    ps.setString(2, project.name());
+                });
+        return ids(fresh);
+    }
+
+    private List<ImportRecordDTO> fresh(String table, List<ImportRecordDTO> records) {
+        var seen = new HashSet<UUID>();
+        for (var chunk : Ids.chunks(ids(records))) {
+            seen.addAll(namedParameterJdbcTemplate.query("select id from " + table + " where id in (:ids)",
+                    new MapSqlParameterSource("ids", chunk), (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return records.stream().filter(record -> seen.add(record.id())).toList();
+    }
+
+    private static Set<UUID> ids(List<ImportRecordDTO> records) {
+        var ids = new LinkedHashSet<UUID>();
+        records.forEach(record -> ids.add(record.id()));
+        return ids;
+    }
+}
@@ -1,11 +1,71 @@
 package com.ukrposhta.project.repositories;
 
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
 import com.ukrposhta.project.entities.Manager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ManagerRepository extends JpaRepository<Manager, UUID> {
+
+    @EntityGraph(attributePaths = "projects")
+    Optional<Manager> findWithProjectsById(UUID id);
+
+    /**
+     * Holds the row for share until commit, so a concurrent delete, which locks it for update,
+     * waits for the project it joins or is waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<Manager> findForShareById(UUID id);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m where m.id = :id")
+    Optional<ManagerSummaryDTO> findSummaryById(@Param("id") UUID id);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m where m.id in :ids")
+    List<ManagerSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m order by m.id")
+    List<ManagerSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m " +
+            "where m.id > :after order by m.id")
+    List<ManagerSummaryDTO> findSummariesAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m " +
+            "join m.projects p where p.id = :projectId order by m.id")
+    List<ManagerSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m " +
+            "join m.projects p where p.id = :projectId order by m.id")
+    List<ManagerSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ManagerSummaryDTO(m.id, m.name) from Manager m " +
+            "join m.projects p where p.id = :projectId and m.id > :after order by m.id")
+    List<ManagerSummaryDTO> findSummariesByProjectIdAfter(@Param("projectId") UUID projectId, @Param("after") UUID after,
+                                                          Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into manager_project (manager_id, project_id) values (:managerId, :projectId) on conflict do nothing",
+            nativeQuery = true)
+    int insertProjectIfAbsent(@Param("managerId") UUID managerId, @Param("projectId") UUID projectId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from manager_project where manager_id = :managerId and project_id = :projectId",
+            nativeQuery = true)
+    int deleteProject(@Param("managerId") UUID managerId, @Param("projectId") UUID projectId);
 }
@@ -0,0 +1,137 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based access to the manager_project / programmer_project join tables.
+ * Id lists are split into chunks so IN lists and JDBC batches stay bounded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MembershipRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Set<UUID> findExistingIds(Membership membership, Collection<UUID> ids) {
+        return findIds("select id from " + membership.table + " where id in (:ids)", ids);
+    }
+
+    public Set<UUID> findMemberIds(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        var sql = "select " + membership.memberColumn + " from " + membership.joinTable
+                + " where project_id = :projectId and " + membership.memberColumn + " in (:ids)";
+
+        var found = new HashSet<UUID>();
+        for (var chunk : Ids.chunks(memberIds)) {
+            var params = new MapSqlParameterSource("projectId", projectId).addValue("ids", chunk);
+            found.addAll(jdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return found;
+    }
+
+    public Set<UUID> findProjectIdsByMembers(Membership membership, Collection<UUID> memberIds) {
+        return findIds("select project_id from " + membership.joinTable
+                + " where " + membership.memberColumn + " in (:ids)", memberIds);
+    }
+
+    public Set<UUID> findMemberIdsByProjects(Membership membership, Collection<UUID> projectIds) {
+        return findIds("select " + membership.memberColumn + " from " + membership.joinTable
+                + " where project_id in (:ids)", projectIds);
+    }
+
+    public void deleteByMembers(Membership membership, Collection<UUID> memberIds) {
+        deleteIn("delete from " + membership.joinTable + " where " + membership.memberColumn + " in (:ids)", memberIds);
+    }
+
+    public void deleteByProjects(Membership membership, Collection<UUID> projectIds) {
+        deleteIn("delete from " + membership.joinTable + " where project_id in (:ids)", projectIds);
+    }
+
+    public void insertAll(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        var sql = "insert into " + membership.joinTable + " (" + membership.memberColumn + ", project_id)"
+                + " values (?, ?) on conflict do nothing";
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(sql, memberIds, Ids.CHUNK_SIZE, (ps, memberId) -> {
+            ps.setObject(1, memberId);
+            ps.setObject(2, projectId);
+        });
+    }
+
+    /**
+     * Inserts (member, project) pairs that may span many projects and returns the pairs that
+     * were not present yet. Like {@link ImportRepository}, the present pairs are looked up
+     * first rather than read from batch update counts, which rewritten batches do not report.
+     */
+    public Set<MemberProject> insertPairs(Membership membership, List<MemberProject> pairs) {
+        var select = "select " + membership.memberColumn + ", project_id from " + membership.joinTable
+                + " where (" + membership.memberColumn + ", project_id) in (:pairs)";
+        var seen = new HashSet<MemberProject>();
+        for (var chunk : Ids.chunks(new LinkedHashSet<>(pairs))) {
+            var tuples = chunk.stream().map(pair -> new Object[]{pair.memberId(), pair.projectId()}).toList();
+            seen.addAll(jdbcTemplate.query(select, new MapSqlParameterSource("pairs", tuples), (rs, rowNum) ->
+                    new MemberProject(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class))));
+        }
+        var fresh = pairs.stream().filter(seen::add).toList();
+
+        var sql = "insert into " + membership.joinTable + " (" + membership.memberColumn + ", project_id)"
+                + " values (?, ?) on conflict do nothing";
+        jdbcTemplate.getJdbcTemplate().batchUpdate(sql, fresh, Ids.CHUNK_SIZE, (ps, pair) -> {
+            ps.setObject(1, pair.memberId());
+            ps.setObject(2, pair.projectId());
+        });
+        return new LinkedHashSet<>(fresh);
+    }
+
+    public void deleteAll(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        var sql = "delete from " + membership.joinTable
+                + " where " + membership.memberColumn + " = ? and project_id = ?";
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(sql, memberIds, Ids.CHUNK_SIZE, (ps, memberId) -> {
+            ps.setObject(1, memberId);
+            ps.setObject(2, projectId);
+        });
+    }
+
+    private Set<UUID> findIds(String sql, Collection<UUID> ids) {
+        var found = new HashSet<UUID>();
+        for (var chunk : Ids.chunks(ids)) {
+            found.addAll(jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk),
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return found;
+    }
+
+    private void deleteIn(String sql, Collection<UUID> ids) {
+        for (var chunk : Ids.chunks(ids)) {
+            jdbcTemplate.update(sql, new MapSqlParameterSource("ids", chunk));
+        }
+    }
+
+    public record MemberProject(UUID memberId, UUID projectId) {
+    }
+
+    public enum Membership {
+        MANAGER("manager", "manager_project", "manager_id"),
+        PROGRAMMER("programmer", "programmer_project", "programmer_id");
+
+        private final String table;
+        private final String joinTable;
+        private final String memberColumn;
+
+        Membership(String table, String joinTable, String memberColumn) {
+            this.table = table;
+            this.joinTable = joinTable;
+            this.memberColumn = memberColumn;
+        }
+    }
+}
@@ -1,11 +1,87 @@
 package com.ukrposhta.project.repositories;
 
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
 import com.ukrposhta.project.entities.Programmer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ProgrammerRepository extends JpaRepository<Programmer, UUID> {
+
+    @EntityGraph(attributePaths = "projects")
+    Optional<Programmer> findWithProjectsById(UUID id);
+
+    /**
+     * Holds the row until commit, so concurrent changes read the skill level and type the
+     * previous one wrote and move the staffing counters from there.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Programmer> findForUpdateById(UUID id);
+
+    /**
+     * Holds the row for share until commit, so a concurrent delete, which locks it for update,
+     * waits for the project it joins or is waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<Programmer> findForShareById(UUID id);
+
+    /**
+     * Holds the rows for share until commit, so their skill level and type cannot change
+     * after they were counted; a shared lock still lets other members join projects.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select p from Programmer p where p.id in :ids order by p.id")
+    List<Programmer> findForShareByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) from Programmer p where p.id = :id")
+    Optional<ProgrammerSummaryDTO> findSummaryById(@Param("id") UUID id);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) from Programmer p where p.id in :ids")
+    List<ProgrammerSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) " +
+            "from Programmer p order by p.id")
+    List<ProgrammerSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) " +
+            "from Programmer p where p.id > :after order by p.id")
+    List<ProgrammerSummaryDTO> findSummariesAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) " +
+            "from Programmer p join p.projects pr where pr.id = :projectId order by p.id")
+    List<ProgrammerSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) " +
+            "from Programmer p join p.projects pr where pr.id = :projectId order by p.id")
+    List<ProgrammerSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ProgrammerSummaryDTO(p.id, p.name, p.skillLevel, p.type) " +
+            "from Programmer p join p.projects pr where pr.id = :projectId and p.id > :after order by p.id")
+    List<ProgrammerSummaryDTO> findSummariesByProjectIdAfter(@Param("projectId") UUID projectId, @Param("after") UUID after,
+                                                             Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into programmer_project (programmer_id, project_id) values (:programmerId, :projectId) on conflict do nothing",
+            nativeQuery = true)
+    int insertProjectIfAbsent(@Param("programmerId") UUID programmerId, @Param("projectId") UUID projectId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from programmer_project where programmer_id = :programmerId and project_id = :projectId",
+            nativeQuery = true)
+    int deleteProject(@Param("programmerId") UUID programmerId, @Param("projectId") UUID projectId);
 }
@@ -0,0 +1,64 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.ProgrammerSearchDTO;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the search SQL from only the filters that are set, so each combination gets
+ * a plain predicate the planner can match against idx_programmer_skill_level_type
+ * (skill_level, type, id) and the programmer_project primary key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProgrammerSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ProgrammerSummaryDTO> search(ProgrammerSearchDTO criteria, UUID after, int limit) {
+        var sql = new StringBuilder("select p.id, p.name, p.skill_level, p.type from programmer p where 1 = 1");
+        var params = new MapSqlParameterSource("limit", limit);
+
+        if (criteria.skillLevel() != null) {
+            sql.append(" and p.skill_level = :skillLevel");
+            params.addValue("skillLevel", criteria.skillLevel().getCode());
+        }
+        if (criteria.type() != null) {
+            sql.append(" and p.type = :type");
+            params.addValue("type", criteria.type().getCode());
+        }
+        if (after != null) {
+            sql.append(" and p.id > :after");
+            params.addValue("after", after);
+        }
+        if (criteria.assigned() != null) {
+            sql.append(criteria.assigned() ? " and exists" : " and not exists")
+                    .append(" (select 1 from programmer_project pp where pp.programmer_id = p.id)");
+        }
+        if (criteria.projectId() != null) {
+            sql.append(" and exists (select 1 from programmer_project pp")
+                    .append(" where pp.programmer_id = p.id and pp.project_id = :projectId)");
+            params.addValue("projectId", criteria.projectId());
+        }
+        if (criteria.excludeProjectId() != null) {
+            sql.append(" and not exists (select 1 from programmer_project pp")
+                    .append(" where pp.programmer_id = p.id and pp.project_id = :excludeProjectId)");
+            params.addValue("excludeProjectId", criteria.excludeProjectId());
+        }
+        sql.append(" order by p.id limit :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ProgrammerSummaryDTO(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                SkillLevel.fromCode(rs.getShort("skill_level")),
+                ProgrammerType.fromCode(rs.getShort("type"))));
+    }
+}
@@ -1,11 +1,42 @@
 package com.ukrposhta.project.repositories;
 
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
 import com.ukrposhta.project.entities.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Project p where p.id in :ids")
+    List<ProjectSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Project p order by p.id")
+    List<ProjectSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Project p " +
+            "where p.id > :after order by p.id")
+    List<ProjectSummaryDTO> findSummariesAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Project p where p.id = :id")
+    Optional<ProjectSummaryDTO> findSummaryById(@Param("id") UUID id);
+
+    @Query("select p.id from Programmer pr join pr.projects p where pr.id = :programmerId")
+    List<UUID> findIdsByProgrammerId(@Param("programmerId") UUID programmerId);
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Manager m " +
+            "join m.projects p where m.id = :managerId order by p.id")
+    List<ProjectSummaryDTO> findSummariesByManagerId(@Param("managerId") UUID managerId);
+
+    @Query("select new com.ukrposhta.project.dto.ProjectSummaryDTO(p.id, p.projectName) from Programmer pr " +
+            "join pr.projects p where pr.id = :programmerId order by p.id")
+    List<ProjectSummaryDTO> findSummariesByProgrammerId(@Param("programmerId") UUID programmerId);
 }
@@ -0,0 +1,231 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.ProjectStaffingDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Per-project member counters in project_staffing, with a column per {@link SkillLevel} and
+ * {@link ProgrammerType} pair, the counts per level and per type being their sums. Counters
+ * move by {@link StaffingDelta deltas}; the actual counts are only computed from the join
+ * tables for reconciliation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StaffingRepository {
+
+    private static final String MANAGERS = "managers";
+
+    private static final Map<String, String> ACTUAL_COUNTS = actualCounts("s.project_id");
+
+    private static final String APPLY = "update project_staffing set "
+            + ACTUAL_COUNTS.keySet().stream().map(column -> column + " = " + column + " + :" + column)
+            .collect(Collectors.joining(", "))
+            + " where project_id = :projectId";
+
+    private static final String RECONCILE = "update project_staffing s set "
+            + ACTUAL_COUNTS.entrySet().stream().map(count -> count.getKey() + " = " + count.getValue())
+            .collect(Collectors.joining(", "))
+            + " where s.project_id in (:ids) and ("
+            + ACTUAL_COUNTS.entrySet().stream().map(count -> count.getKey() + " <> " + count.getValue())
+            .collect(Collectors.joining(" or "))
+            + ")";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<ProjectStaffingDTO> findByProjectId(UUID projectId) {
+        var sql = "select project_id, " + String.join(", ", ACTUAL_COUNTS.keySet())
+                + " from project_staffing where project_id = :projectId";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectId", projectId), StaffingRepository::toStaffing)
+                .stream().findFirst();
+    }
+
+    /**
+     * Counts from the join tables, for a project whose counter row has not been created yet.
+     */
+    public Optional<ProjectStaffingDTO> countByProjectId(UUID projectId) {
+        var sql = "select p.id as project_id, " + actualCounts("p.id").entrySet().stream()
+                .map(count -> count.getValue() + " as " + count.getKey())
+                .collect(Collectors.joining(", "))
+                + " from project p where p.id = :projectId";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectId", projectId), StaffingRepository::toStaffing)
+                .stream().findFirst();
+    }
+
+    public void insert(UUID projectId) {
+        jdbcTemplate.update("insert into project_staffing (project_id) values (:projectId) on conflict do nothing",
+                new MapSqlParameterSource("projectId", projectId));
+    }
+
+    public void deleteByProjects(Collection<UUID> projectIds) {
+        for (var chunk : Ids.chunks(projectIds)) {
+            jdbcTemplate.update("delete from project_staffing where project_id in (:ids)",
+                    new MapSqlParameterSource("ids", chunk));
+        }
+    }
+
+    public List<StaffingDelta> countProgrammersByProject(Collection<UUID> programmerIds) {
+        var sql = "select pp.project_id, g.skill_level, g.type, count(*) from programmer_project pp"
+                + " join programmer g on g.id = pp.programmer_id where pp.programmer_id in (:ids)"
+                + " group by pp.project_id, g.skill_level, g.type";
+
+        var counts = new ArrayList<StaffingDelta>();
+        for (var chunk : Ids.chunks(programmerIds)) {
+            counts.addAll(jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk), (rs, rowNum) ->
+                    StaffingDelta.programmers(rs.getObject(1, UUID.class), SkillLevel.fromCode(rs.getShort(2)),
+                            ProgrammerType.fromCode(rs.getShort(3)), rs.getInt(4))));
+        }
+        return counts;
+    }
+
+    public List<StaffingDelta> countManagersByProject(Collection<UUID> managerIds) {
+        var sql = "select project_id, count(*) from manager_project where manager_id in (:ids) group by project_id";
+
+        var counts = new ArrayList<StaffingDelta>();
+        for (var chunk : Ids.chunks(managerIds)) {
+            counts.addAll(jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk), (rs, rowNum) ->
+                    StaffingDelta.managers(rs.getObject(1, UUID.class), rs.getInt(2))));
+        }
+        return counts;
+    }
+
+    /**
+     * Locks the counter rows of the given projects until commit, in project id order.
+     */
+    public void lock(Collection<UUID> projectIds) {
+        var sql = "select project_id from project_staffing where project_id in (:ids) order by project_id for update";
+        for (var chunk : Ids.chunks(Ids.sorted(projectIds))) {
+            jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk), (rs, rowNum) -> null);
+        }
+    }
+
+    /**
+     * Applies the deltas in project id order, so that two transactions updating overlapping
+     * projects take the row locks in the same order and cannot deadlock.
+     */
+    public void apply(Collection<StaffingDelta> deltas) {
+        var batch = deltas.stream()
+                .sorted(Comparator.comparing(StaffingDelta::projectId, Ids.DATABASE_ORDER))
+                .map(StaffingRepository::toParams).toList();
+        for (var chunk : Ids.chunks(batch)) {
+            jdbcTemplate.batchUpdate(APPLY, chunk.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    public List<UUID> findProjectIdsAfter(UUID after, int limit) {
+        var params = new MapSqlParameterSource("limit", limit);
+        var sql = "select id from project order by id limit :limit";
+        if (after != null) {
+            sql = "select id from project where id > :after order by id limit :limit";
+            params.addValue("after", after);
+        }
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Creates missing counter rows and recomputes the ones that drifted from the join tables.
+     * The rows are locked by a statement of their own first: the recount then runs with a
+     * snapshot taken after every delta committed ahead of the lock, instead of writing counts
+     * that predate one of them.
+     *
+     * @return the number of rows that had to be corrected
+     */
+    public int reconcile(Collection<UUID> projectIds) {
+        var corrected = 0;
+        for (var chunk : Ids.chunks(Ids.sorted(projectIds))) {
+            var params = new MapSqlParameterSource("ids", chunk);
+            jdbcTemplate.update("insert into project_staffing (project_id) select id from project where id in (:ids)"
+                    + " on conflict do nothing", params);
+            lock(chunk);
+            corrected += jdbcTemplate.update(RECONCILE, params);
+        }
+        return corrected;
+    }
+
+    private static Map<String, String> actualCounts(String projectId) {
+        var programmers = "(select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id"
+                + " where pp.project_id = " + projectId + " and g.";
+
+        var counts = new LinkedHashMap<String, String>();
+        counts.put(MANAGERS, "(select count(*) from manager_project mp where mp.project_id = " + projectId + ")");
+        for (var skillLevel : SkillLevel.values()) {
+            for (var type : ProgrammerType.values()) {
+                counts.put(column(skillLevel, type), programmers + "skill_level = " + skillLevel.getCode()
+                        + " and g.type = " + type.getCode() + ")");
+            }
+        }
+        return counts;
+    }
+
+    private static String column(SkillLevel skillLevel, ProgrammerType type) {
+        return skillLevel.name().toLowerCase() + "_" + type.name().toLowerCase();
+    }
+
+    private static MapSqlParameterSource toParams(StaffingDelta delta) {
+        var params = new MapSqlParameterSource("projectId", delta.projectId());
+        ACTUAL_COUNTS.keySet().forEach(column -> params.addValue(column, 0));
+        params.addValue(MANAGERS, delta.managers());
+        if (delta.programmers() != 0) {
+            params.addValue(column(delta.skillLevel(), delta.type()), delta.programmers());
+        }
+        return params;
+    }
+
+    private static ProjectStaffingDTO toStaffing(ResultSet rs, int rowNum) throws SQLException {
+        var composition = new EnumMap<SkillLevel, Map<ProgrammerType, Long>>(SkillLevel.class);
+        var skillLevels = new EnumMap<SkillLevel, Long>(SkillLevel.class);
+        var types = new EnumMap<ProgrammerType, Long>(ProgrammerType.class);
+        for (var skillLevel : SkillLevel.values()) {
+            var byType = new EnumMap<ProgrammerType, Long>(ProgrammerType.class);
+            for (var type : ProgrammerType.values()) {
+                var count = rs.getLong(column(skillLevel, type));
+                byType.put(type, count);
+                skillLevels.merge(skillLevel, count, Long::sum);
+                types.merge(type, count, Long::sum);
+            }
+            composition.put(skillLevel, byType);
+        }
+
+        var programmers = skillLevels.values().stream().mapToLong(Long::longValue).sum();
+        return new ProjectStaffingDTO(rs.getObject("project_id", UUID.class), rs.getLong(MANAGERS), programmers,
+                skillLevels, types, composition);
+    }
+
+    /**
+     * A change to one project's counters: {@code managers} managers, or {@code programmers}
+     * programmers of one skill level and type.
+     */
+    public record StaffingDelta(UUID projectId, int managers, SkillLevel skillLevel, ProgrammerType type,
+                                int programmers) {
+
+        public static StaffingDelta managers(UUID projectId, int count) {
+            return new StaffingDelta(projectId, count, null, null, 0);
+        }
+
+        public static StaffingDelta programmers(UUID projectId, SkillLevel skillLevel, ProgrammerType type, int count) {
+            return new StaffingDelta(projectId, 0, skillLevel, type, count);
+        }
+
+        public StaffingDelta negate() {
+            return new StaffingDelta(projectId, -managers, skillLevel, type, -programmers);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ukrposhta.project.repositories;
+
+import com.ukrposhta.project.dto.EntityVersionDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The version and modified_at columns of manager, programmer and project, and of the join rows
+ * between them. An entity's own columns move with every change to it or its memberships; its
+ * join rows move, to a value of the membership_version sequence, when the details either side
+ * embeds in the other's lists change. A lookup reads the entity row and its newest join row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VersionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<EntityVersionDTO> findVersion(EntityType type, UUID id) {
+        return jdbcTemplate.query(findVersionSql(type), new MapSqlParameterSource("id", id), (rs, rowNum) -> {
+            var related = rs.getTimestamp(4);
+            return EntityVersionDTO.of(rs.getLong(1), rs.getTimestamp(2).toInstant(), rs.getLong(3),
+                    related == null ? null : related.toInstant());
+        }).stream().findFirst();
+    }
+
+    /**
+     * The entity's version and modified_at followed by those of its newest join row, which are
+     * null when it has none; bound to {@code :id}. Also read by the reactive API.
+     */
+    public static String findVersionSql(EntityType type) {
+        return "select e.version, e.modified_at, r.version, r.modified_at from " + table(type) + " e"
+                + " left join (" + newestJoinRow(type) + ") r on true where e.id = :id";
+    }
+
+    public void bump(EntityType type, Collection<UUID> ids) {
+        var now = Timestamp.from(Instant.now());
+        var sql = "update " + table(type) + " set version = version + 1, modified_at = :now where id in (:ids)";
+        for (var chunk : Ids.chunks(ids)) {
+            jdbcTemplate.update(sql, new MapSqlParameterSource("ids", chunk).addValue("now", now));
+        }
+    }
+
+    /**
+     * Moves the join rows of the given entities to one new value of the sequence. The rows are
+     * locked in primary key order first, the same order for either side of a join table, so two
+     * transactions touching overlapping rows wait for each other instead of deadlocking.
+     */
+    public void bumpJoinRows(EntityType type, Collection<UUID> ids) {
+        var version = jdbcTemplate.getJdbcTemplate().queryForObject("select nextval('membership_version')", Long.class);
+        var now = Timestamp.from(Instant.now());
+        for (var chunk : Ids.chunks(Ids.sorted(ids))) {
+            var params = new MapSqlParameterSource("ids", chunk).addValue("version", version).addValue("now", now);
+            for (var join : joins(type)) {
+                jdbcTemplate.query("select 1 from " + join.table() + " where " + join.column() + " in (:ids)"
+                        + " order by " + join.primaryKey() + " for update", params, (rs, rowNum) -> null);
+                jdbcTemplate.update("update " + join.table() + " set version = :version, modified_at = :now"
+                        + " where " + join.column() + " in (:ids)", params);
+            }
+        }
+    }
+
+    private static String table(EntityType type) {
+        return type.name().toLowerCase();
+    }
+
+    /**
+     * The entity's join row with the highest version, one index probe per join table.
+     */
+    private static String newestJoinRow(EntityType type) {
+        return joins(type).stream()
+                .map(join -> "(select version, modified_at from " + join.table() + " where " + join.column()
+                        + " = :id order by version desc limit 1)")
+                .collect(Collectors.joining(" union all ", "select version, modified_at from (", ") j"
+                        + " order by version desc limit 1"));
+    }
+
+    private static List<Join> joins(EntityType type) {
+        return switch (type) {
+            case MANAGER -> List.of(new Join("manager_project", "manager_id"));
+            case PROGRAMMER -> List.of(new Join("programmer_project", "programmer_id"));
+            case PROJECT -> List.of(new Join("manager_project", "project_id"), new Join("programmer_project", "project_id"));
+        };
+    }
+
+    /**
+     * A join table, read by one of its two id columns.
+     */
+    private record Join(String table, String column) {
+
+        private String primaryKey() {
+            return table.substring(0, table.indexOf('_')) + "_id, project_id";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.cache.CacheNames;
+import com.ukrposhta.project.dto.ManagerRankDTO;
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.dto.PageDTO;
+import com.ukrposhta.project.dto.ProgrammerBreakdownDTO;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.AnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Organization-wide reports. The whole-table aggregations are cached for a short TTL and
+ * never evicted on writes, so they may lag by up to that TTL; keyset pages are not cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private final AnalyticsRepository analyticsRepository;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PROGRAMMER_BREAKDOWN)
+    public List<ProgrammerBreakdownDTO> getProgrammerBreakdown() {
+        return analyticsRepository.countProgrammersBySkillLevelAndType();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.MANAGER_RANKING)
+    public List<ManagerRankDTO> getManagerRanking(int limit) {
+        return analyticsRepository.rankManagersByProjectCount(limit);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDTO<ProjectSummaryDTO> getProjectsWithoutSkillLevel(SkillLevel skillLevel, String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var projects = analyticsRepository.findProjectsWithoutSkillLevel(skillLevel, cursor(after), pageRequest.getPageSize());
+        return PageDTO.of(projects, pageRequest, ProjectSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDTO<ManagerSummaryDTO> getUnassignedManagers(String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var managers = analyticsRepository.findUnassignedManagers(cursor(after), pageRequest.getPageSize());
+        return PageDTO.of(managers, pageRequest, ManagerSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDTO<ProgrammerSummaryDTO> getUnassignedProgrammers(String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var programmers = analyticsRepository.findUnassignedProgrammers(cursor(after), pageRequest.getPageSize());
+        return PageDTO.of(programmers, pageRequest, ProgrammerSummaryDTO::id);
+    }
+
+    private static UUID cursor(String after) {
+        return after == null ? null : UUID.fromString(after);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ukrposhta.project.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.repositories.ExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final ObjectMapper objectMapper;
+    private final ExportRepository exportRepository;
+
+    /**
+     * Writes one NDJSON line per project, flushing every {@link ExportRepository#FETCH_SIZE}
+     * projects so neither the result set nor the response is buffered as a whole.
+     */
+    @Transactional(readOnly = true)
+    public void exportProjects(OutputStream out) throws IOException {
+        var count = new long[1];
+
+        try (var writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            exportRepository.streamProjects(project -> {
+                try {
+                    writer.write(project);
+                    if (++count[0] % ExportRepository.FETCH_SIZE == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (count[0] > 0) {
+                out.write('\n');
+            }
+        }
+        log.info("Exported {} projects", count[0]);
+    }
+}
@@ -0,0 +1,305 @@
+package com.ukrposhta.project.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.ImportErrorDTO;
+import com.ukrposhta.project.dto.ImportProgressDTO;
+import com.ukrposhta.project.dto.ImportRecordDTO;
+import com.ukrposhta.project.dto.ImportResultDTO;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.enums.ImportKind;
+import com.ukrposhta.project.ids.EntityIdGenerator;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.ImportRepository;
+import com.ukrposhta.project.repositories.MembershipRepository.MemberProject;
+import com.ukrposhta.project.repositories.MembershipRepository.Membership;
+import com.ukrposhta.project.repositories.MembershipRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON line by line and writes it in JDBC batches of {@link Ids#CHUNK_SIZE}, one
+ * transaction per batch, so heap use stays bounded regardless of the input size.
+ * Entity lines are flushed before membership lines, so a membership may refer to an entity
+ * defined earlier in the same stream. A batch that fails is rolled back and its lines are
+ * reported as failed; the batches before it stay committed and the import goes on.
+ * Every batch reports its accepted and rejected line counts to a progress listener, which the
+ * NDJSON variant writes back to the caller as the import runs.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final Set<ImportKind> ENTITY_KINDS =
+            EnumSet.of(ImportKind.MANAGER, ImportKind.PROGRAMMER, ImportKind.PROJECT);
+
+    private final ObjectMapper objectMapper;
+    private final ImportRepository importRepository;
+    private final MembershipRepository membershipRepository;
+    private final ProjectRepository projectRepository;
+    private final NameSearchService nameSearchService;
+    private final StaffingService staffingService;
+    private final VersionService versionService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityIdGenerator entityIdGenerator;
+    private final KnownIds knownIds;
+
+    public ImportResultDTO importNdjson(InputStream body) throws IOException {
+        return importNdjson(body, progress -> {
+        });
+    }
+
+    /**
+     * Writes one {@link ImportProgressDTO} line per batch, flushed as soon as the batch is
+     * committed or rolled back, followed by the {@link ImportResultDTO} of the whole import.
+     */
+    public void importNdjson(InputStream body, OutputStream out) throws IOException {
+        try (var writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            var result = importNdjson(body, progress -> {
+                try {
+                    writer.write(progress);
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.write(result);
+            writer.flush();
+            out.write('\n');
+        }
+    }
+
+    public ImportResultDTO importNdjson(InputStream body, Consumer<ImportProgressDTO> progress) throws IOException {
+        var run = new Run(progress);
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                run.lines++;
+                if (!line.isBlank()) {
+                    accept(run, run.lines, line);
+                }
+                if (run.pending() >= Ids.CHUNK_SIZE) {
+                    flush(run);
+                }
+                if (run.lines % PROGRESS_INTERVAL == 0) {
+                    log.info("Import progress: {} lines read, {} failed", run.lines, run.failed);
+                }
+            }
+        }
+        flush(run);
+
+        log.info("Imported {} lines: {}, {} failed", run.lines, run.imported, run.failed);
+        return new ImportResultDTO(run.lines, run.imported, run.failed, run.errors);
+    }
+
+    private void accept(Run run, long lineNumber, String line) {
+        ImportRecordDTO record;
+        try {
+            record = objectMapper.readValue(line, ImportRecordDTO.class);
+        } catch (JsonProcessingException e) {
+            run.fail(lineNumber, "Malformed line: " + e.getOriginalMessage());
+            return;
+        }
+
+        var problem = validate(record);
+        if (problem != null) {
+            run.fail(lineNumber, problem);
+            return;
+        }
+
+        if (record.id() == null && ENTITY_KINDS.contains(record.kind())) {
+            var id = entityIdGenerator.next(EntityType.valueOf(record.kind().name()));
+            record = new ImportRecordDTO(record.kind(), id, record.name(), record.skillLevel(), record.type(), null, null);
+        }
+        run.pending.get(record.kind()).add(new Line(lineNumber, record));
+    }
+
+    private static String validate(ImportRecordDTO record) {
+        if (record.kind() == null) {
+            return "kind is required";
+        }
+        if (ENTITY_KINDS.contains(record.kind())) {
+            if (record.name() == null || record.name().isBlank()) {
+                return "name is required";
+            }
+            if (record.name().length() > MAX_NAME_LENGTH) {
+                return "name is longer than " + MAX_NAME_LENGTH + " characters";
+            }
+        }
+        return switch (record.kind()) {
+            case MANAGER, PROJECT -> null;
+            case PROGRAMMER -> record.skillLevel() == null ? "skillLevel is required"
+                    : record.type() == null ? "type is required" : null;
+            case MANAGER_PROJECT, PROGRAMMER_PROJECT -> record.memberId() == null || record.projectId() == null
+                    ? "memberId and projectId are required" : null;
+        };
+    }
+
+    private void flush(Run run) {
+        if (run.pending() == 0) {
+            return;
+        }
+        var imported = new EnumMap<>(run.imported);
+        var failed = run.failed;
+        var errors = run.errors.size();
+        var accepted = run.accepted();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                flushEntities(run, ImportKind.PROJECT, EntityType.PROJECT, importRepository::insertProjects);
+                flushEntities(run, ImportKind.MANAGER, EntityType.MANAGER, importRepository::insertManagers);
+                flushEntities(run, ImportKind.PROGRAMMER, EntityType.PROGRAMMER, importRepository::insertProgrammers);
+                flushMemberships(run, ImportKind.MANAGER_PROJECT, Membership.MANAGER);
+                flushMemberships(run, ImportKind.PROGRAMMER_PROJECT, Membership.PROGRAMMER);
+                staffingService.recount(stagedProjectIds(run));
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // the batch rolled back: forget what it recorded and report each of its lines instead
+            run.imported.clear();
+            run.imported.putAll(imported);
+            run.failed = failed;
+            run.errors.subList(errors, run.errors.size()).clear();
+            var message = "Batch not imported: " + e.getMostSpecificCause().getMessage();
+            run.pending.values().forEach(lines -> lines.forEach(line -> run.fail(line.number(), message)));
+            log.warn("Import batch of {} lines failed", run.pending(), e);
+        }
+        run.pending.values().forEach(List::clear);
+        run.progress.accept(new ImportProgressDTO(++run.batches, run.lines,
+                run.accepted() - accepted, run.failed - run.reported));
+        run.reported = run.failed;
+    }
+
+    /**
+     * Projects created or joined by this batch; their staffing counters are recounted rather
+     * than adjusted, as one recount per project is cheaper than a delta per imported line.
+     */
+    private static Set<UUID> stagedProjectIds(Run run) {
+        var projectIds = new HashSet<UUID>();
+        run.pending.get(ImportKind.PROJECT).forEach(line -> projectIds.add(line.record().id()));
+        run.pending.get(ImportKind.MANAGER_PROJECT).forEach(line -> projectIds.add(line.record().projectId()));
+        run.pending.get(ImportKind.PROGRAMMER_PROJECT).forEach(line -> projectIds.add(line.record().projectId()));
+        return projectIds;
+    }
+
+    private void flushEntities(Run run, ImportKind kind, EntityType type,
+                               Function<List<ImportRecordDTO>, Set<UUID>> insert) {
+        var lines = run.pending.get(kind);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        var inserted = insert.apply(lines.stream().map(Line::record).toList());
+        for (var line : lines) {
+            var record = line.record();
+            if (!inserted.remove(record.id())) {
+                run.fail(line.number(), "Id already exists: " + record.id());
+            } else {
+                run.imported.merge(kind, 1L, Long::sum);
+                nameSearchService.put(type, record.id(), record.name());
+                knownIds.add(type, record.id());
+            }
+        }
+    }
+
+    private void flushMemberships(Run run, ImportKind kind, Membership membership) {
+        var lines = run.pending.get(kind);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        var members = membershipRepository.findExistingIds(membership,
+                lines.stream().map(line -> line.record().memberId()).collect(Collectors.toSet()));
+        var projects = projectRepository.findSummariesByIdIn(
+                        lines.stream().map(line -> line.record().projectId()).collect(Collectors.toSet()))
+                .stream().map(ProjectSummaryDTO::id).collect(Collectors.toSet());
+
+        var valid = new ArrayList<Line>();
+        for (var line : lines) {
+            if (!members.contains(line.record().memberId())) {
+                run.fail(line.number(), "Unknown member: " + line.record().memberId());
+            } else if (!projects.contains(line.record().projectId())) {
+                run.fail(line.number(), "Unknown project: " + line.record().projectId());
+            } else {
+                valid.add(line);
+            }
+        }
+
+        var pairs = membershipRepository.insertPairs(membership, valid.stream()
+                .map(line -> new MemberProject(line.record().memberId(), line.record().projectId()))
+                .toList());
+        var inserted = new ArrayList<ImportRecordDTO>();
+        for (var line : valid) {
+            if (!pairs.remove(new MemberProject(line.record().memberId(), line.record().projectId()))) {
+                run.fail(line.number(), "Membership already exists");
+            } else {
+                run.imported.merge(kind, 1L, Long::sum);
+                inserted.add(line.record());
+            }
+        }
+        versionService.touch(membership == Membership.MANAGER ? EntityType.MANAGER : EntityType.PROGRAMMER,
+                inserted.stream().map(ImportRecordDTO::memberId).collect(Collectors.toSet()));
+        versionService.touch(EntityType.PROJECT,
+                inserted.stream().map(ImportRecordDTO::projectId).collect(Collectors.toSet()));
+    }
+
+    private record Line(long number, ImportRecordDTO record) {
+    }
+
+    private static class Run {
+
+        private final Map<ImportKind, List<Line>> pending = new EnumMap<>(ImportKind.class);
+        private final Map<ImportKind, Long> imported = new EnumMap<>(ImportKind.class);
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private final Consumer<ImportProgressDTO> progress;
+        private long lines;
+        private long failed;
+        private long batches;
+        private long reported;
+
+        private Run(Consumer<ImportProgressDTO> progress) {
+            this.progress = progress;
+            for (var kind : ImportKind.values()) {
+                pending.put(kind, new ArrayList<>());
+            }
+        }
+
+        private long accepted() {
+            return imported.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        private int pending() {
+            return pending.values().stream().mapToInt(List::size).sum();
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+    }
+}
@@ -1,16 +1,32 @@
 package com.ukrposhta.project.services;
 
+import com.ukrposhta.project.dto.BatchDeleteResultDTO;
+import com.ukrposhta.project.dto.BatchResultDTO;
+import com.ukrposhta.project.dto.ManagerSummaryDTO;
+import com.ukrposhta.project.dto.ManagerViewDTO;
+import com.ukrposhta.project.dto.PageDTO;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
 import com.ukrposhta.project.entities.Manager;
-import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.EntityType;
 import com.ukrposhta.project.exceptions.ManagerNotFoundException;
 import com.ukrposhta.project.exceptions.ProjectNotFoundException;
+import com.ukrposhta.project.ids.EntityIdGenerator;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.EntityIdRepository;
 import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.MembershipRepository.Membership;
+import com.ukrposhta.project.repositories.MembershipRepository;
 import com.ukrposhta.project.repositories.ProjectRepository;
+import com.ukrposhta.project.util.Ids;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -21,69 +37,177 @@ public class ManagerService {
 
     private final ManagerRepository managerRepository;
     private final ProjectRepository projectRepository;
-
+    private final MembershipRepository membershipRepository;
+    private final EntityIdRepository entityIdRepository;
+    private final StaffingService staffingService;
+    private final VersionService versionService;
+    private final NameSearchService nameSearchService;
+    private final EntityIdGenerator entityIdGenerator;
+    private final KnownIds knownIds;
+
+    @Transactional(readOnly = true)
     public Manager getManagerById(String id) {
-        return managerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ManagerNotFoundException(id));
+        return managerRepository.findWithProjectsById(knownIds.require(EntityType.MANAGER, id)).orElseThrow(() -> new ManagerNotFoundException(id));
+    }
+
+    /**
+     * One projection query for the manager and one per requested relation.
+     */
+    @Transactional(readOnly = true)
+    public ManagerViewDTO getManagerView(String id, Set<String> relations) {
+        var managerId = knownIds.require(EntityType.MANAGER, id);
+        var manager = managerRepository.findSummaryById(managerId).orElseThrow(() -> new ManagerNotFoundException(id));
+
+        var projects = relations.contains(ManagerViewDTO.PROJECTS) ? projectRepository.findSummariesByManagerId(managerId) : null;
+        return new ManagerViewDTO(manager.id(), manager.name(), projects);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchResultDTO<ManagerSummaryDTO> getManagersByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+
+        var loaded = new HashMap<UUID, ManagerSummaryDTO>();
+        for (var chunk : Ids.chunks(knownIds.retainMightExist(EntityType.MANAGER, requested.values()))) {
+            managerRepository.findSummariesByIdIn(chunk).forEach(manager -> loaded.put(manager.id(), manager));
+        }
+        return BatchResultDTO.of(requested, ids, loaded);
     }
 
-    public Set<Project> getProjectsByManagerId(String id) {
-        var manager = managerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ManagerNotFoundException(id));
-        return manager.getProjects();
+    @Transactional(readOnly = true)
+    public PageDTO<ManagerSummaryDTO> getManagers(String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var managers = after == null
+                ? managerRepository.findSummaries(pageRequest)
+                : managerRepository.findSummariesAfter(UUID.fromString(after), pageRequest);
+        return PageDTO.of(managers, pageRequest, ManagerSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummaryDTO> getProjectsByManagerId(String id) {
+        var managerId = knownIds.require(EntityType.MANAGER, id);
+        var projects = projectRepository.findSummariesByManagerId(managerId);
+
+        if (projects.isEmpty() && !managerRepository.existsById(managerId)) {
+            throw new ManagerNotFoundException(id);
+        }
+        return projects;
     }
 
+    @Transactional
     public String createManager(String name) {
         var manager = Manager.builder()
-                .id(UUID.randomUUID())
+                .id(entityIdGenerator.next(EntityType.MANAGER))
                 .name(name)
                 .projects(new HashSet<>())
                 .build();
 
         var savedManager = managerRepository.save(manager);
+        nameSearchService.put(EntityType.MANAGER, savedManager.getId(), savedManager.getName());
         log.info("Created manager with id: {}", manager.getId());
         return savedManager.getId().toString();
     }
 
+    @Transactional
     public void deleteManagerById(String id) {
-        var manager = managerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ManagerNotFoundException(id));
-
-        manager.getProjects().forEach(project -> project.getManagers().remove(manager));
-
-        managerRepository.deleteById(UUID.fromString(id));
+        if (deleteManagers(List.of(UUID.fromString(id))).isEmpty()) {
+            throw new ManagerNotFoundException(id);
+        }
         log.info("Deleted manager with id: {}", id);
     }
 
-    public void addProject(String managerId, String projectId) {
-        var manager = managerRepository.findById(
-                UUID.fromString(managerId)).orElseThrow(() -> new ManagerNotFoundException(managerId));
-        var project = projectRepository.findById(
-                UUID.fromString(projectId)).orElseThrow(() -> new ProjectNotFoundException(projectId));
+    @Transactional
+    public BatchDeleteResultDTO deleteManagersByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+        var deleted = deleteManagers(new HashSet<>(requested.values()));
 
-        manager.addProject(project);
+        log.info("Deleted {} of {} managers", deleted.size(), ids.size());
+        return BatchDeleteResultDTO.of(requested, ids, deleted);
+    }
 
-        managerRepository.save(manager);
+    @Transactional
+    public void addProject(String managerId, String projectId) {
+        var managerUuid = UUID.fromString(managerId);
+        var projectUuid = UUID.fromString(projectId);
+
+        if (!knownIds.mightExist(EntityType.MANAGER, managerUuid)) {
+            throw new ManagerNotFoundException(managerId);
+        }
+        if (!knownIds.mightExist(EntityType.PROJECT, projectUuid) || !projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
+
+        staffingService.lockProjects(List.of(projectUuid));
+        // after the counters, the order deletes take them in; the join row's foreign key
+        // would take this lock only on insert, and not on every database
+        if (managerRepository.findForShareById(managerUuid).isEmpty()) {
+            throw new ManagerNotFoundException(managerId);
+        }
+        if (managerRepository.insertProjectIfAbsent(managerUuid, projectUuid) > 0) {
+            staffingService.membersAdded(Membership.MANAGER, projectUuid, List.of(managerUuid));
+
+            versionService.touch(EntityType.MANAGER, List.of(managerUuid));
+            versionService.touch(EntityType.PROJECT, List.of(projectUuid));
+        }
 
         log.info("Added project: {} to manager: {}", projectId, managerId);
     }
 
+    @Transactional
     public void removeProject(String managerId, String projectId) {
-        var manager = managerRepository.findById(
-                UUID.fromString(managerId)).orElseThrow(() -> new ManagerNotFoundException(managerId));
-        var project = projectRepository.findById(
-                UUID.fromString(projectId)).orElseThrow(() -> new ProjectNotFoundException(projectId));
+        var managerUuid = UUID.fromString(managerId);
+        var projectUuid = UUID.fromString(projectId);
 
-        manager.removeProject(project);
+        if (!knownIds.mightExist(EntityType.MANAGER, managerUuid) || !managerRepository.existsById(managerUuid)) {
+            throw new ManagerNotFoundException(managerId);
+        }
+        if (!knownIds.mightExist(EntityType.PROJECT, projectUuid) || !projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
 
-        managerRepository.save(manager);
+        staffingService.lockProjects(List.of(projectUuid));
+        if (managerRepository.deleteProject(managerUuid, projectUuid) > 0) {
+            staffingService.membersRemoved(Membership.MANAGER, projectUuid, List.of(managerUuid));
+
+            versionService.touch(EntityType.MANAGER, List.of(managerUuid));
+            versionService.touch(EntityType.PROJECT, List.of(projectUuid));
+        }
 
         log.info("Removed project: {} from manager: {}", projectId, managerId);
     }
 
+    @Transactional
     public void changeName(String id, String newName) {
-        var manager = managerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ManagerNotFoundException(id));
+        var manager = managerRepository.findById(knownIds.require(EntityType.MANAGER, id)).orElseThrow(() -> new ManagerNotFoundException(id));
 
         manager.setName(newName);
 
         managerRepository.save(manager);
+        versionService.touchDetails(EntityType.MANAGER, List.of(manager.getId()));
+        nameSearchService.put(EntityType.MANAGER, manager.getId(), newName);
         log.info("New name: {} of manager: {}", newName, id);
     }
+
+    /**
+     * Deletes join rows and then the managers themselves with a fixed number of set-based
+     * statements per chunk, without loading the project collections.
+     */
+    private Set<UUID> deleteManagers(Collection<UUID> ids) {
+        var candidates = knownIds.retainMightExist(EntityType.MANAGER, ids);
+        staffingService.lockMembersProjects(Membership.MANAGER, candidates);
+        var existing = entityIdRepository.lockExisting(EntityType.MANAGER, candidates);
+        if (existing.isEmpty()) {
+            return existing;
+        }
+
+        var projectIds = membershipRepository.findProjectIdsByMembers(Membership.MANAGER, existing);
+
+        staffingService.membersDeleting(Membership.MANAGER, existing);
+        membershipRepository.deleteByMembers(Membership.MANAGER, existing);
+        Ids.chunks(existing).forEach(managerRepository::deleteAllByIdInBatch);
+        versionService.touch(EntityType.PROJECT, projectIds);
+
+        existing.forEach(managerId -> nameSearchService.remove(EntityType.MANAGER, managerId));
+        knownIds.removeAll(EntityType.MANAGER, existing);
+        return existing;
+    }
 }
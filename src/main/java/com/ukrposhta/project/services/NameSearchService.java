@@ -0,0 +1,306 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.dto.NameSearchResultDTO;
+import com.ukrposhta.project.enums.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory name index over managers, programmers and projects for typeahead.
+ * Word prefixes are answered from a sorted token map, typos from a trigram index
+ * (pg_trgm-style padding and similarity). Built before the application takes traffic and
+ * kept current by the create / changeName / delete paths of the entity services.
+ */
+@Service
+@Slf4j
+public class NameSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MAX_CANDIDATES = 1_000;
+    private static final int MAX_SCANNED = 10 * MAX_CANDIDATES;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Key>> tokens = new TreeMap<>();
+    private final Map<String, Set<Key>> trigrams = new HashMap<>();
+
+    public NameSearchService(JdbcTemplate jdbcTemplate) {
+        var started = System.nanoTime();
+        load(jdbcTemplate, EntityType.MANAGER, "select id, name from manager");
+        load(jdbcTemplate, EntityType.PROGRAMMER, "select id, name from programmer");
+        load(jdbcTemplate, EntityType.PROJECT, "select id, name from project");
+        log.info("Built name index with {} entries in {} ms", entries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void put(EntityType type, UUID id, String name) {
+        var key = new Key(type, id);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(key);
+                index(key, name);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(EntityType type, UUID id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(new Key(type, id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ranks exact matches above whole-name prefixes, those above word matches, and breaks
+     * ties (and finds typos) by trigram similarity. A word match contains every query word,
+     * the last one as a prefix since it may still be being typed. At most
+     * {@value #MAX_CANDIDATES} word and {@value #MAX_CANDIDATES} trigram candidates are scored,
+     * and each is found by walking at most {@value #MAX_SCANNED} postings per list, so the cost
+     * of a query does not grow with the number of names.
+     */
+    public List<NameSearchResultDTO> search(String query, Set<EntityType> types, int limit) {
+        var normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        var words = normalized.split(" ");
+        var queryTrigrams = trigramsOf(normalized);
+
+        lock.readLock().lock();
+        try {
+            var candidates = wordMatches(words, types);
+            var shared = trigramMatches(normalized, queryTrigrams, types);
+
+            var top = new PriorityQueue<NameSearchResultDTO>(Comparator.comparingDouble(NameSearchResultDTO::score));
+            var seen = new HashSet<>(candidates);
+            seen.addAll(shared.keySet());
+            for (var key : seen) {
+                var entry = entries.get(key);
+                int common = shared.getOrDefault(key, 0);
+                double similarity = (double) common / (queryTrigrams.size() + entry.trigrams().size() - common);
+
+                double score = similarity;
+                if (entry.normalized().equals(normalized)) {
+                    score += 3;
+                } else if (entry.normalized().startsWith(normalized)) {
+                    score += 2;
+                } else if (candidates.contains(key)) {
+                    score += 1;
+                } else if (similarity < MIN_SIMILARITY) {
+                    continue;
+                }
+
+                top.add(new NameSearchResultDTO(key.type(), key.id(), entry.name(), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            var results = new ArrayList<>(top);
+            results.sort(Comparator.comparingDouble(NameSearchResultDTO::score).reversed()
+                    .thenComparing(NameSearchResultDTO::name));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names that contain the last query word as a token prefix and every other query word as
+     * a token. With other words, walks the shortest posting list among them and checks the rest
+     * on each name; otherwise walks the prefix range, exact tokens before longer ones, so an
+     * exact word is not cut off by the cap.
+     */
+    private Set<Key> wordMatches(String[] words, Set<EntityType> types) {
+        var last = words[words.length - 1];
+        var required = Set.copyOf(Arrays.asList(words).subList(0, words.length - 1));
+
+        var matches = new LinkedHashSet<Key>();
+        if (!required.isEmpty()) {
+            var rarest = required.stream()
+                    .map(word -> tokens.getOrDefault(word, Set.of()))
+                    .min(Comparator.comparingInt(Set::size))
+                    .orElseThrow();
+            collect(rarest, matches, MAX_SCANNED, key -> {
+                var entry = entries.get(key);
+                return types.contains(key.type()) && entry.tokens().containsAll(required)
+                        && entry.tokens().stream().anyMatch(token -> token.startsWith(last));
+            });
+            return matches;
+        }
+
+        var budget = MAX_SCANNED;
+        for (var postings : tokens.subMap(last, true, last + Character.MAX_VALUE, true).values()) {
+            budget -= collect(postings, matches, budget, key -> types.contains(key.type()));
+            if (budget <= 0 || matches.size() == MAX_CANDIDATES) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds the postings that pass {@code filter} to {@code matches} until it holds
+     * {@value #MAX_CANDIDATES} keys or {@code budget} postings were looked at.
+     *
+     * @return the number of postings looked at
+     */
+    private static int collect(Set<Key> postings, Set<Key> matches, int budget, Predicate<Key> filter) {
+        int scanned = 0;
+        for (var key : postings) {
+            if (scanned == budget || matches.size() == MAX_CANDIDATES) {
+                break;
+            }
+            scanned++;
+            if (filter.test(key)) {
+                matches.add(key);
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * Counts the trigrams each name shares with the query and keeps the names that share the
+     * most, dropping those that cannot reach {@link #MIN_SIMILARITY} whatever their length.
+     * Rare trigrams are walked first and find the candidates; a trigram whose posting list is
+     * longer than {@value #MAX_SCANNED} is only checked against the candidates found so far.
+     * Queries too short to have a trigram of their own only match by word.
+     */
+    private Map<Key, Integer> trigramMatches(String normalized, Set<String> queryTrigrams, Set<EntityType> types) {
+        if (normalized.length() < 3) {
+            return Map.of();
+        }
+        var ordered = queryTrigrams.stream()
+                .sorted(Comparator.comparingInt(trigram -> trigrams.getOrDefault(trigram, Set.of()).size()))
+                .toList();
+
+        var shared = new HashMap<Key, Integer>();
+        for (var trigram : ordered) {
+            var postings = trigrams.getOrDefault(trigram, Set.of());
+            if (postings.size() > MAX_SCANNED && !shared.isEmpty()) {
+                shared.replaceAll((key, common) -> entries.get(key).trigrams().contains(trigram) ? common + 1 : common);
+                continue;
+            }
+            int scanned = 0;
+            for (var key : postings) {
+                if (scanned++ == MAX_SCANNED) {
+                    break;
+                }
+                if (types.contains(key.type())) {
+                    shared.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+
+        var minimum = (int) Math.ceil(MIN_SIMILARITY * queryTrigrams.size());
+        shared.values().removeIf(common -> common < minimum);
+        if (shared.size() <= MAX_CANDIDATES) {
+            return shared;
+        }
+        var best = new HashMap<Key, Integer>();
+        shared.entrySet().stream()
+                .sorted(Map.Entry.<Key, Integer>comparingByValue().reversed())
+                .limit(MAX_CANDIDATES)
+                .forEach(e -> best.put(e.getKey(), e.getValue()));
+        return best;
+    }
+
+    /**
+     * Index updates made inside a transaction wait for its commit,
+     * so a rolled-back rename never shows up in search results.
+     */
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void load(JdbcTemplate jdbcTemplate, EntityType type, String sql) {
+        jdbcTemplate.query(sql, rs -> {
+            index(new Key(type, rs.getObject("id", UUID.class)), rs.getString("name"));
+        });
+    }
+
+    private void index(Key key, String name) {
+        var normalized = normalize(name);
+        var entry = new Entry(name, normalized, Set.copyOf(Arrays.asList(normalized.split(" "))), trigramsOf(normalized));
+        entries.put(key, entry);
+        for (var token : entry.tokens()) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(key);
+        }
+        for (var trigram : entry.trigrams()) {
+            trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(Key key) {
+        var entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (var token : entry.tokens()) {
+            removePosting(tokens, token, key);
+        }
+        for (var trigram : entry.trigrams()) {
+            removePosting(trigrams, trigram, key);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Key>> postings, String term, Key key) {
+        var keys = postings.get(term);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            postings.remove(term);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static Set<String> trigramsOf(String normalized) {
+        var result = new HashSet<String>();
+        for (var word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            var padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private record Key(EntityType type, UUID id) {
+    }
+
+    /**
+     * A name with the normalized form, tokens and trigrams it is indexed and scored by.
+     */
+    private record Entry(String name, String normalized, Set<String> tokens, Set<String> trigrams) {
+    }
+}
@@ -1,17 +1,36 @@
 package com.ukrposhta.project.services;
 
+import com.ukrposhta.project.dto.BatchDeleteResultDTO;
+import com.ukrposhta.project.dto.BatchResultDTO;
+import com.ukrposhta.project.dto.PageDTO;
+import com.ukrposhta.project.dto.ProgrammerSearchDTO;
+import com.ukrposhta.project.dto.ProgrammerSummaryDTO;
+import com.ukrposhta.project.dto.ProgrammerViewDTO;
+import com.ukrposhta.project.dto.ProjectSummaryDTO;
 import com.ukrposhta.project.entities.*;
+import com.ukrposhta.project.enums.EntityType;
 import com.ukrposhta.project.enums.ProgrammerType;
 import com.ukrposhta.project.enums.SkillLevel;
 import com.ukrposhta.project.exceptions.ProgrammerNotFoundException;
 import com.ukrposhta.project.exceptions.ProjectNotFoundException;
+import com.ukrposhta.project.ids.EntityIdGenerator;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.EntityIdRepository;
+import com.ukrposhta.project.repositories.MembershipRepository.Membership;
+import com.ukrposhta.project.repositories.MembershipRepository;
 import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.ProgrammerSearchRepository;
 import com.ukrposhta.project.repositories.ProjectRepository;
+import com.ukrposhta.project.util.Ids;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -22,91 +41,255 @@ public class ProgrammerService {
 
     private final ProgrammerRepository programmerRepository;
     private final ProjectRepository projectRepository;
+    private final MembershipRepository membershipRepository;
+    private final EntityIdRepository entityIdRepository;
+    private final ProgrammerSearchRepository programmerSearchRepository;
+    private final StaffingService staffingService;
+    private final VersionService versionService;
+    private final NameSearchService nameSearchService;
+    private final EntityIdGenerator entityIdGenerator;
+    private final KnownIds knownIds;
 
+    @Transactional(readOnly = true)
     public Programmer getProgrammerById(String id) {
-        return programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
+        return programmerRepository.findWithProjectsById(knownIds.require(EntityType.PROGRAMMER, id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
     }
 
-    public Set<Project> getProjectsByProgrammerId(String id) {
-        var programmer = programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
-        return programmer.getProjects();
+    /**
+     * One projection query for the programmer and one per requested relation.
+     */
+    @Transactional(readOnly = true)
+    public ProgrammerViewDTO getProgrammerView(String id, Set<String> relations) {
+        var programmerId = knownIds.require(EntityType.PROGRAMMER, id);
+        var programmer = programmerRepository.findSummaryById(programmerId).orElseThrow(() -> new ProgrammerNotFoundException(id));
+
+        var projects = relations.contains(ProgrammerViewDTO.PROJECTS) ? projectRepository.findSummariesByProgrammerId(programmerId) : null;
+        return new ProgrammerViewDTO(programmer.id(), programmer.name(), programmer.skillLevel(), programmer.type(), projects);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchResultDTO<ProgrammerSummaryDTO> getProgrammersByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+
+        var loaded = new HashMap<UUID, ProgrammerSummaryDTO>();
+        for (var chunk : Ids.chunks(knownIds.retainMightExist(EntityType.PROGRAMMER, requested.values()))) {
+            programmerRepository.findSummariesByIdIn(chunk).forEach(programmer -> loaded.put(programmer.id(), programmer));
+        }
+        return BatchResultDTO.of(requested, ids, loaded);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDTO<ProgrammerSummaryDTO> getProgrammers(String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var programmers = after == null
+                ? programmerRepository.findSummaries(pageRequest)
+                : programmerRepository.findSummariesAfter(UUID.fromString(after), pageRequest);
+        return PageDTO.of(programmers, pageRequest, ProgrammerSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDTO<ProgrammerSummaryDTO> searchProgrammers(ProgrammerSearchDTO criteria, String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var programmers = programmerSearchRepository.search(
+                criteria, after == null ? null : UUID.fromString(after), pageRequest.getPageSize());
+        return PageDTO.of(programmers, pageRequest, ProgrammerSummaryDTO::id);
     }
 
+    @Transactional(readOnly = true)
+    public List<ProjectSummaryDTO> getProjectsByProgrammerId(String id) {
+        var programmerId = knownIds.require(EntityType.PROGRAMMER, id);
+        var projects = projectRepository.findSummariesByProgrammerId(programmerId);
+
+        if (projects.isEmpty() && !programmerRepository.existsById(programmerId)) {
+            throw new ProgrammerNotFoundException(id);
+        }
+        return projects;
+    }
+
+    @Transactional
     public String createProgrammer(String name, SkillLevel skillLevel,
                                    ProgrammerType programmerType) {
 
         var programmer = Programmer.builder()
-                .id(UUID.randomUUID())
+                .id(entityIdGenerator.next(EntityType.PROGRAMMER))
                 .name(name)
-                .skillLevel(skillLevel.name())
-                .type(programmerType.name())
+                .skillLevel(skillLevel)
+                .type(programmerType)
                 .projects(new HashSet<>())
                 .build();
 
         var savedProgrammer = programmerRepository.save(programmer);
+        nameSearchService.put(EntityType.PROGRAMMER, programmer.getId(), programmer.getName());
         log.info("Created programmer with programmerId: {}", programmer.getId());
         return savedProgrammer.getId().toString();
     }
 
+    @Transactional
     public void deleteProgrammerById(String id) {
-        var programmer = programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
+        if (deleteProgrammers(List.of(UUID.fromString(id))).isEmpty()) {
+            throw new ProgrammerNotFoundException(id);
+        }
+        log.info("Deleted programmer with programmerId: {}", id);
+    }
 
-        programmer.getProjects().forEach(project -> project.getProgrammers().remove(programmer));
+    @Transactional
+    public BatchDeleteResultDTO deleteProgrammersByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+        var deleted = deleteProgrammers(new HashSet<>(requested.values()));
 
-        programmerRepository.deleteById(UUID.fromString(id));
-        log.info("Deleted programmer with programmerId: {}", id);
+        log.info("Deleted {} of {} programmers", deleted.size(), ids.size());
+        return BatchDeleteResultDTO.of(requested, ids, deleted);
     }
 
+    @Transactional
     public void addProject(String programmerId, String projectId) {
-        var programmer = programmerRepository.findById(
-                UUID.fromString(programmerId)).orElseThrow(() -> new ProgrammerNotFoundException(programmerId));
-        var project = projectRepository.findById(
-                UUID.fromString(projectId)).orElseThrow(() -> new ProjectNotFoundException(projectId));
+        var programmerUuid = UUID.fromString(programmerId);
+        var projectUuid = UUID.fromString(projectId);
 
-        programmer.addProject(project);
+        if (!knownIds.mightExist(EntityType.PROGRAMMER, programmerUuid)) {
+            throw new ProgrammerNotFoundException(programmerId);
+        }
+        if (!knownIds.mightExist(EntityType.PROJECT, projectUuid) || !projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
 
-        programmerRepository.save(programmer);
+        staffingService.lockProjects(List.of(projectUuid));
+        // after the counters, the order deletes take them in; the join row's foreign key
+        // would take this lock only on insert, and not on every database
+        if (programmerRepository.findForShareById(programmerUuid).isEmpty()) {
+            throw new ProgrammerNotFoundException(programmerId);
+        }
+        if (programmerRepository.insertProjectIfAbsent(programmerUuid, projectUuid) > 0) {
+            staffingService.membersAdded(Membership.PROGRAMMER, projectUuid, List.of(programmerUuid));
+
+            versionService.touch(EntityType.PROGRAMMER, List.of(programmerUuid));
+            versionService.touch(EntityType.PROJECT, List.of(projectUuid));
+        }
 
         log.info("Added project: {} to programmer: {}", projectId, programmerId);
     }
 
+    @Transactional
     public void removeProject(String programmerId, String projectId) {
-        var programmer = programmerRepository.findById(
-                UUID.fromString(programmerId)).orElseThrow(() -> new ProgrammerNotFoundException(programmerId));
-        var project = projectRepository.findById(
-                UUID.fromString(projectId)).orElseThrow(() -> new ProjectNotFoundException(projectId));
+        var programmerUuid = UUID.fromString(programmerId);
+        var projectUuid = UUID.fromString(projectId);
 
-        programmer.removeProject(project);
+        if (!knownIds.mightExist(EntityType.PROGRAMMER, programmerUuid) || !programmerRepository.existsById(programmerUuid)) {
+            throw new ProgrammerNotFoundException(programmerId);
+        }
+        if (!knownIds.mightExist(EntityType.PROJECT, projectUuid) || !projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
 
-        programmerRepository.save(programmer);
+        staffingService.lockProjects(List.of(projectUuid));
+        if (programmerRepository.deleteProject(programmerUuid, projectUuid) > 0) {
+            staffingService.membersRemoved(Membership.PROGRAMMER, projectUuid, List.of(programmerUuid));
+
+            versionService.touch(EntityType.PROGRAMMER, List.of(programmerUuid));
+            versionService.touch(EntityType.PROJECT, List.of(projectUuid));
+        }
 
         log.info("Removed project: {} from programmer: {}", projectId, programmerId);
     }
 
+    @Transactional
     public void changeName(String id, String newName) {
-        var programmer = programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
+        var programmer = programmerRepository.findById(knownIds.require(EntityType.PROGRAMMER, id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
 
         programmer.setName(newName);
 
         programmerRepository.save(programmer);
+        versionService.touchDetails(EntityType.PROGRAMMER, List.of(programmer.getId()));
+        nameSearchService.put(EntityType.PROGRAMMER, programmer.getId(), newName);
         log.info("New name: {} of programmer: {}", newName, id);
     }
 
+    @Transactional
     public void changeSkillLevel(String id, SkillLevel skillLevel) {
-        var programmer = programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
+        var locked = lockForChange(id);
+        var programmer = locked.programmer();
+        var projectIds = locked.projectIds();
 
-        programmer.setSkillLevel(skillLevel.name());
+        var oldSkillLevel = programmer.getSkillLevel();
+        programmer.setSkillLevel(skillLevel);
 
         programmerRepository.save(programmer);
+        versionService.touchDetails(EntityType.PROGRAMMER, List.of(programmer.getId()));
+        staffingService.programmerChanged(projectIds, oldSkillLevel, programmer.getType(), skillLevel, programmer.getType());
         log.info("New skill level: {} of programmer: {}", skillLevel.name(), id);
     }
 
+    @Transactional
     public void changeProgrammerType(String id, ProgrammerType programmerType) {
-        var programmer = programmerRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProgrammerNotFoundException(id));
+        var locked = lockForChange(id);
+        var programmer = locked.programmer();
+        var projectIds = locked.projectIds();
 
-        programmer.setSkillLevel(programmerType.name());
+        var oldType = programmer.getType();
+        programmer.setType(programmerType);
 
         programmerRepository.save(programmer);
+        versionService.touchDetails(EntityType.PROGRAMMER, List.of(programmer.getId()));
+        staffingService.programmerChanged(projectIds, programmer.getSkillLevel(), oldType, programmer.getSkillLevel(), programmerType);
         log.info("New type: {} of programmer: {}", programmerType.name(), id);
     }
+
+    /**
+     * Deletes join rows and then the programmers themselves with a fixed number of set-based
+     * statements per chunk, without loading the project collections.
+     */
+    private Set<UUID> deleteProgrammers(Collection<UUID> ids) {
+        var candidates = knownIds.retainMightExist(EntityType.PROGRAMMER, ids);
+        staffingService.lockMembersProjects(Membership.PROGRAMMER, candidates);
+        var existing = entityIdRepository.lockExisting(EntityType.PROGRAMMER, candidates);
+        if (existing.isEmpty()) {
+            return existing;
+        }
+
+        var projectIds = membershipRepository.findProjectIdsByMembers(Membership.PROGRAMMER, existing);
+
+        staffingService.membersDeleting(Membership.PROGRAMMER, existing);
+        membershipRepository.deleteByMembers(Membership.PROGRAMMER, existing);
+        Ids.chunks(existing).forEach(programmerRepository::deleteAllByIdInBatch);
+        versionService.touch(EntityType.PROJECT, projectIds);
+
+        existing.forEach(programmerId -> nameSearchService.remove(EntityType.PROGRAMMER, programmerId));
+        knownIds.removeAll(EntityType.PROGRAMMER, existing);
+        return existing;
+    }
+
+    /**
+     * Locks the counters of the programmer's projects before the programmer row, the order
+     * in which membership changes (counters, then the row for key share through the join row's
+     * foreign key) and deletes ({@link StaffingService#lockMembersProjects}) take them, so that
+     * a concurrent change reads the level and type the previous one wrote. The projects are
+     * read again after each lock: one joined in between was counted with the old level and type
+     * and must be adjusted too. Joins that have not committed by then wait for the programmer
+     * row and count the new ones.
+     */
+    private LockedProgrammer lockForChange(String id) {
+        var programmerId = knownIds.require(EntityType.PROGRAMMER, id);
+        var projectIds = lockStaffing(programmerId, List.of());
+        var programmer = programmerRepository.findForUpdateById(programmerId)
+                .orElseThrow(() -> new ProgrammerNotFoundException(id));
+        return new LockedProgrammer(programmer, lockStaffing(programmerId, projectIds));
+    }
+
+    /**
+     * Locks the counters of the programmer's projects, reading them again until no project
+     * joined since the last read.
+     */
+    private List<UUID> lockStaffing(UUID programmerId, Collection<UUID> locked) {
+        var lockedIds = new HashSet<>(locked);
+        var projectIds = projectRepository.findIdsByProgrammerId(programmerId);
+        while (!lockedIds.containsAll(projectIds)) {
+            staffingService.lockProjects(projectIds);
+            lockedIds.addAll(projectIds);
+            projectIds = projectRepository.findIdsByProgrammerId(programmerId);
+        }
+        return projectIds;
+    }
+
+    private record LockedProgrammer(Programmer programmer, List<UUID> projectIds) {
+    }
 }
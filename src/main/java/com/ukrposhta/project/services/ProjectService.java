@@ -1,17 +1,26 @@
 package com.ukrposhta.project.services;
 
-import com.ukrposhta.project.entities.Manager;
-import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.dto.*;
 import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.DashboardSection;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.enums.MembershipStatus;
 import com.ukrposhta.project.exceptions.ProjectNotFoundException;
+import com.ukrposhta.project.ids.EntityIdGenerator;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.EntityIdRepository;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.MembershipRepository.Membership;
+import com.ukrposhta.project.repositories.MembershipRepository;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
 import com.ukrposhta.project.repositories.ProjectRepository;
+import com.ukrposhta.project.util.Ids;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Slf4j
@@ -19,44 +28,145 @@ import java.util.UUID;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ManagerRepository managerRepository;
+    private final ProgrammerRepository programmerRepository;
     private final ProgrammerService programmerService;
     private final ManagerService managerService;
+    private final MembershipRepository membershipRepository;
+    private final EntityIdRepository entityIdRepository;
+    private final StaffingService staffingService;
+    private final VersionService versionService;
+    private final NameSearchService nameSearchService;
+    private final EntityIdGenerator entityIdGenerator;
+    private final KnownIds knownIds;
 
+    @Transactional(readOnly = true)
     public Project getProjectById(String id) {
-        return projectRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProjectNotFoundException(id));
+        var projectId = knownIds.require(EntityType.PROJECT, id);
+        return projectRepository.findById(projectId).orElseThrow(() -> new ProjectNotFoundException(id));
     }
 
-    public Set<Manager> getManagersByProjectId(String id) {
-        var project = projectRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProjectNotFoundException(id));
-        return project.getManagers();
+    /**
+     * One projection query for the project and one per requested relation.
+     */
+    @Transactional(readOnly = true)
+    public ProjectViewDTO getProjectView(String id, Set<String> relations) {
+        var projectId = knownIds.require(EntityType.PROJECT, id);
+        var project = projectRepository.findSummaryById(projectId).orElseThrow(() -> new ProjectNotFoundException(id));
+
+        var managers = relations.contains(ProjectViewDTO.MANAGERS) ? managerRepository.findSummariesByProjectId(projectId) : null;
+        var programmers = relations.contains(ProjectViewDTO.PROGRAMMERS) ? programmerRepository.findSummariesByProjectId(projectId) : null;
+        return new ProjectViewDTO(project.id(), project.projectName(), managers, programmers);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchResultDTO<ProjectSummaryDTO> getProjectsByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+
+        var loaded = new HashMap<UUID, ProjectSummaryDTO>();
+        for (var chunk : Ids.chunks(knownIds.retainMightExist(EntityType.PROJECT, requested.values()))) {
+            projectRepository.findSummariesByIdIn(chunk).forEach(project -> loaded.put(project.id(), project));
+        }
+        return BatchResultDTO.of(requested, ids, loaded);
     }
 
-    public Set<Programmer> getProgrammersByProjectId(String id) {
-        var project = projectRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProjectNotFoundException(id));
-        return project.getProgrammers();
+    @Transactional(readOnly = true)
+    public PageDTO<ProjectSummaryDTO> getProjects(String after, int size) {
+        var pageRequest = PageDTO.pageRequest(size);
+        var projects = after == null
+                ? projectRepository.findSummaries(pageRequest)
+                : projectRepository.findSummariesAfter(UUID.fromString(after), pageRequest);
+        return PageDTO.of(projects, pageRequest, ProjectSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ManagerSummaryDTO> getManagersByProjectId(String id) {
+        var projectId = knownIds.require(EntityType.PROJECT, id);
+        var managers = managerRepository.findSummariesByProjectId(projectId);
+
+        if (managers.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new ProjectNotFoundException(id);
+        }
+        return managers;
     }
 
+    @Transactional(readOnly = true)
+    public List<ProgrammerSummaryDTO> getProgrammersByProjectId(String id) {
+        var projectId = knownIds.require(EntityType.PROJECT, id);
+        var programmers = programmerRepository.findSummariesByProjectId(projectId);
+
+        if (programmers.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new ProjectNotFoundException(id);
+        }
+        return programmers;
+    }
+
+    @Transactional
     public String createProject(String projectName) {
         var project = Project.builder()
-                .id(UUID.randomUUID())
+                .id(entityIdGenerator.next(EntityType.PROJECT))
                 .projectName(projectName)
                 .managers(new HashSet<>())
                 .programmers(new HashSet<>())
                 .build();
 
-        var savedProject = projectRepository.save(project);
+        var savedProject = projectRepository.saveAndFlush(project);
+        staffingService.projectCreated(savedProject.getId());
+        nameSearchService.put(EntityType.PROJECT, savedProject.getId(), savedProject.getProjectName());
         log.info("Created project with id: {}", savedProject.getId());
         return savedProject.getId().toString();
     }
 
+    @Transactional
     public void deleteProjectById(String id) {
-        var project = projectRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProjectNotFoundException(id));
+        if (deleteProjects(List.of(UUID.fromString(id))).isEmpty()) {
+            throw new ProjectNotFoundException(id);
+        }
+        log.info("Deleted project with id: {}", id);
+    }
 
-        project.getProgrammers().forEach(programmer -> programmer.getProjects().remove(project));
-        project.getManagers().forEach(manager -> manager.getProjects().remove(project));
+    @Transactional
+    public BatchDeleteResultDTO deleteProjectsByIds(List<String> ids) {
+        var requested = Ids.parse(ids);
+        var deleted = deleteProjects(new HashSet<>(requested.values()));
 
-        projectRepository.deleteById(UUID.fromString(id));
-        log.info("Deleted project with id: {}", id);
+        log.info("Deleted {} of {} projects", deleted.size(), ids.size());
+        return BatchDeleteResultDTO.of(requested, ids, deleted);
+    }
+
+    /**
+     * The project page in one transaction: one statement for the project and one per requested
+     * section, each section bounded by {@code size}.
+     */
+    @Transactional(readOnly = true)
+    public ProjectDashboardDTO getDashboard(String id, Set<DashboardSection> sections,
+                                            String managersAfter, String programmersAfter, int size) {
+        var projectId = knownIds.require(EntityType.PROJECT, id);
+        var project = projectRepository.findSummaryById(projectId).orElseThrow(() -> new ProjectNotFoundException(id));
+        var pageRequest = PageDTO.pageRequest(size);
+
+        PageDTO<ManagerSummaryDTO> managers = null;
+        if (sections.contains(DashboardSection.MANAGERS)) {
+            var page = managersAfter == null
+                    ? managerRepository.findSummariesByProjectId(projectId, pageRequest)
+                    : managerRepository.findSummariesByProjectIdAfter(projectId, UUID.fromString(managersAfter), pageRequest);
+            managers = PageDTO.of(page, pageRequest, ManagerSummaryDTO::id);
+        }
+
+        PageDTO<ProgrammerSummaryDTO> programmers = null;
+        if (sections.contains(DashboardSection.PROGRAMMERS)) {
+            var page = programmersAfter == null
+                    ? programmerRepository.findSummariesByProjectId(projectId, pageRequest)
+                    : programmerRepository.findSummariesByProjectIdAfter(projectId, UUID.fromString(programmersAfter), pageRequest);
+            programmers = PageDTO.of(page, pageRequest, ProgrammerSummaryDTO::id);
+        }
+
+        var staffing = sections.contains(DashboardSection.STAFFING) ? staffingService.getStaffing(id) : null;
+        return new ProjectDashboardDTO(project, managers, programmers, staffing);
+    }
+
+    public ProjectStaffingDTO getStaffing(String projectId) {
+        return staffingService.getStaffing(projectId);
     }
 
     public void addManagerToProject(String projectId, String managerId) {
@@ -75,12 +185,133 @@ public class ProjectService {
         programmerService.removeProject(programmerId, projectId);
     }
 
+    @Transactional
+    public BulkUpdateResultDTO bulkAddManagersToProject(String projectId, List<String> managerIds) {
+        return bulkAdd(Membership.MANAGER, projectId, managerIds);
+    }
+
+    @Transactional
+    public BulkUpdateResultDTO bulkRemoveManagersFromProject(String projectId, List<String> managerIds) {
+        return bulkRemove(Membership.MANAGER, projectId, managerIds);
+    }
+
+    @Transactional
+    public BulkUpdateResultDTO bulkAddProgrammersToProject(String projectId, List<String> programmerIds) {
+        return bulkAdd(Membership.PROGRAMMER, projectId, programmerIds);
+    }
+
+    @Transactional
+    public BulkUpdateResultDTO bulkRemoveProgrammersFromProject(String projectId, List<String> programmerIds) {
+        return bulkRemove(Membership.PROGRAMMER, projectId, programmerIds);
+    }
+
+    @Transactional
     public void changeNameOfProject(String id, String newName) {
-        var project = projectRepository.findById(UUID.fromString(id)).orElseThrow(() -> new ProjectNotFoundException(id));
+        var project = projectRepository.findById(knownIds.require(EntityType.PROJECT, id)).orElseThrow(() -> new ProjectNotFoundException(id));
 
         project.setProjectName(newName);
 
         projectRepository.save(project);
+        versionService.touchDetails(EntityType.PROJECT, List.of(project.getId()));
+        nameSearchService.put(EntityType.PROJECT, project.getId(), newName);
         log.info("New name: {} of project: {}", newName, id);
     }
+
+    /**
+     * Deletes join rows and then the projects themselves with a fixed number of set-based
+     * statements per chunk, without loading the member collections.
+     */
+    private Set<UUID> deleteProjects(Collection<UUID> ids) {
+        // the counters first, as membership changes lock them before the rows they join
+        var candidates = knownIds.retainMightExist(EntityType.PROJECT, ids);
+        staffingService.lockProjects(candidates);
+        var existing = entityIdRepository.lockExisting(EntityType.PROJECT, candidates);
+        if (existing.isEmpty()) {
+            return existing;
+        }
+
+        var managerIds = membershipRepository.findMemberIdsByProjects(Membership.MANAGER, existing);
+        var programmerIds = membershipRepository.findMemberIdsByProjects(Membership.PROGRAMMER, existing);
+
+        staffingService.projectsDeleting(existing);
+        membershipRepository.deleteByProjects(Membership.MANAGER, existing);
+        membershipRepository.deleteByProjects(Membership.PROGRAMMER, existing);
+        Ids.chunks(existing).forEach(projectRepository::deleteAllByIdInBatch);
+        versionService.touch(EntityType.MANAGER, managerIds);
+        versionService.touch(EntityType.PROGRAMMER, programmerIds);
+
+        existing.forEach(projectId -> nameSearchService.remove(EntityType.PROJECT, projectId));
+        knownIds.removeAll(EntityType.PROJECT, existing);
+        return existing;
+    }
+
+    private BulkUpdateResultDTO bulkAdd(Membership membership, String projectId, List<String> memberIds) {
+        var projectUuid = knownIds.require(EntityType.PROJECT, projectId);
+        if (!projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
+
+        staffingService.lockProjects(List.of(projectUuid));
+
+        var requested = Ids.parse(memberIds);
+        var existing = membershipRepository.findExistingIds(membership,
+                knownIds.retainMightExist(entityType(membership), requested.values()));
+        var present = membershipRepository.findMemberIds(membership, projectUuid, existing);
+
+        var toInsert = new LinkedHashSet<>(existing);
+        toInsert.removeAll(present);
+        membershipRepository.insertAll(membership, projectUuid, toInsert);
+        staffingService.membersAdded(membership, projectUuid, toInsert);
+        touchMembership(membership, projectUuid, toInsert);
+
+        var results = new LinkedHashMap<String, MembershipStatus>();
+        for (var id : memberIds) {
+            var uuid = requested.get(id);
+            results.putIfAbsent(id, uuid == null || !existing.contains(uuid) ? MembershipStatus.NOT_FOUND
+                    : present.contains(uuid) ? MembershipStatus.ALREADY_PRESENT : MembershipStatus.ADDED);
+        }
+
+        log.info("Added {} of {} {}s to project: {}", toInsert.size(), results.size(), membership.name().toLowerCase(), projectId);
+        return new BulkUpdateResultDTO(projectId, results);
+    }
+
+    private BulkUpdateResultDTO bulkRemove(Membership membership, String projectId, List<String> memberIds) {
+        var projectUuid = knownIds.require(EntityType.PROJECT, projectId);
+        if (!projectRepository.existsById(projectUuid)) {
+            throw new ProjectNotFoundException(projectId);
+        }
+
+        staffingService.lockProjects(List.of(projectUuid));
+
+        var requested = Ids.parse(memberIds);
+        var existing = membershipRepository.findExistingIds(membership,
+                knownIds.retainMightExist(entityType(membership), requested.values()));
+        var present = membershipRepository.findMemberIds(membership, projectUuid, existing);
+
+        membershipRepository.deleteAll(membership, projectUuid, present);
+        staffingService.membersRemoved(membership, projectUuid, present);
+        touchMembership(membership, projectUuid, present);
+
+        var results = new LinkedHashMap<String, MembershipStatus>();
+        for (var id : memberIds) {
+            var uuid = requested.get(id);
+            results.putIfAbsent(id, uuid == null || !existing.contains(uuid) ? MembershipStatus.NOT_FOUND
+                    : present.contains(uuid) ? MembershipStatus.REMOVED : MembershipStatus.NOT_PRESENT);
+        }
+
+        log.info("Removed {} of {} {}s from project: {}", present.size(), results.size(), membership.name().toLowerCase(), projectId);
+        return new BulkUpdateResultDTO(projectId, results);
+    }
+
+    private void touchMembership(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        versionService.touch(EntityType.PROJECT, List.of(projectId));
+        versionService.touch(entityType(membership), memberIds);
+    }
+
+    private static EntityType entityType(Membership membership) {
+        return membership == Membership.MANAGER ? EntityType.MANAGER : EntityType.PROGRAMMER;
+    }
 }
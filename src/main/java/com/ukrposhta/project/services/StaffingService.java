@@ -0,0 +1,205 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.dto.ProjectStaffingDTO;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.exceptions.ProjectNotFoundException;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.MembershipRepository.Membership;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.StaffingRepository;
+import com.ukrposhta.project.repositories.StaffingRepository.StaffingDelta;
+import com.ukrposhta.project.util.Ids;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the per-project staffing counters in step with membership changes. The update
+ * methods join the caller's transaction, so a counter moves only if the join-table change
+ * it describes commits; {@link #reconcile()} repairs whatever drifts anyway.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StaffingService {
+
+    private final StaffingRepository staffingRepository;
+    private final ProgrammerRepository programmerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final KnownIds knownIds;
+
+    @Transactional(readOnly = true)
+    public ProjectStaffingDTO getStaffing(String projectId) {
+        var projectUuid = knownIds.require(EntityType.PROJECT, projectId);
+        return staffingRepository.findByProjectId(projectUuid)
+                .or(() -> staffingRepository.countByProjectId(projectUuid))
+                .orElseThrow(() -> new ProjectNotFoundException(projectId));
+    }
+
+    @Transactional
+    public void projectCreated(UUID projectId) {
+        staffingRepository.insert(projectId);
+    }
+
+    /**
+     * Call before the projects are deleted.
+     */
+    @Transactional
+    public void projectsDeleting(Collection<UUID> projectIds) {
+        staffingRepository.deleteByProjects(projectIds);
+    }
+
+    /**
+     * Call before reading the join rows a counter change is derived from. Every membership
+     * change locks the counters of its projects first, so concurrent changes of a project
+     * wait for each other and see each other's rows, and a pair is counted once.
+     */
+    @Transactional
+    public void lockProjects(Collection<UUID> projectIds) {
+        staffingRepository.lock(projectIds);
+    }
+
+    /**
+     * Counts programmers by the skill level and type their rows hold, locked for share until
+     * commit so a concurrent change of either waits for this one and moves the counters after it.
+     *
+     * @param memberIds members whose join rows to the project were just inserted
+     */
+    @Transactional
+    public void membersAdded(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        staffingRepository.apply(countMembers(membership, projectId, memberIds));
+    }
+
+    /**
+     * @param memberIds members whose join rows to the project were just deleted
+     */
+    @Transactional
+    public void membersRemoved(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        staffingRepository.apply(countMembers(membership, projectId, memberIds).stream()
+                .map(StaffingDelta::negate).toList());
+    }
+
+    /**
+     * Call before the members' rows are locked for deletion. Membership changes lock the
+     * counters of their projects and then, through the join row's foreign key, the member row;
+     * a delete takes them in the same order. The projects are read again after each lock until
+     * none joined in between; later joins wait for the member rows and are picked up by
+     * {@link #membersDeleting}.
+     */
+    @Transactional
+    public void lockMembersProjects(Membership membership, Collection<UUID> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        var locked = new HashSet<UUID>();
+        var projectIds = projectIds(countByProject(membership, memberIds));
+        while (!locked.containsAll(projectIds)) {
+            lockProjects(projectIds);
+            locked.addAll(projectIds);
+            projectIds = projectIds(countByProject(membership, memberIds));
+        }
+    }
+
+    /**
+     * Call before the members' join rows are deleted: the counts come from the join table,
+     * read again once the projects are locked so a concurrent removal is not subtracted twice.
+     */
+    @Transactional
+    public void membersDeleting(Membership membership, Collection<UUID> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        lockProjects(projectIds(countByProject(membership, memberIds)));
+        staffingRepository.apply(countByProject(membership, memberIds).stream().map(StaffingDelta::negate).toList());
+    }
+
+    @Transactional
+    public void programmerChanged(Collection<UUID> projectIds, SkillLevel oldSkillLevel, ProgrammerType oldType,
+                                  SkillLevel newSkillLevel, ProgrammerType newType) {
+        if (oldSkillLevel == newSkillLevel && oldType == newType) {
+            return;
+        }
+        var deltas = new ArrayList<StaffingDelta>();
+        for (var projectId : projectIds) {
+            deltas.add(StaffingDelta.programmers(projectId, oldSkillLevel, oldType, -1));
+            deltas.add(StaffingDelta.programmers(projectId, newSkillLevel, newType, 1));
+        }
+        staffingRepository.apply(deltas);
+    }
+
+    /**
+     * Recomputes the counters of the given projects from the join tables, creating missing rows.
+     */
+    @Transactional
+    public int recount(Collection<UUID> projectIds) {
+        return staffingRepository.reconcile(projectIds);
+    }
+
+    /**
+     * Walks every project in id order, one transaction per chunk, and corrects counters that
+     * disagree with the join tables.
+     */
+    @Scheduled(initialDelayString = "${app.staffing.reconcile-interval:PT10M}",
+            fixedDelayString = "${app.staffing.reconcile-interval:PT10M}")
+    public void reconcile() {
+        var corrected = 0;
+        UUID after = null;
+        List<UUID> chunk;
+        do {
+            chunk = staffingRepository.findProjectIdsAfter(after, Ids.CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            var projectIds = chunk;
+            corrected += transactionTemplate.execute(status -> staffingRepository.reconcile(projectIds));
+            after = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == Ids.CHUNK_SIZE);
+
+        if (corrected > 0) {
+            log.warn("Corrected staffing counters of {} projects", corrected);
+        }
+    }
+
+    private List<StaffingDelta> countByProject(Membership membership, Collection<UUID> memberIds) {
+        return membership == Membership.MANAGER
+                ? staffingRepository.countManagersByProject(memberIds)
+                : staffingRepository.countProgrammersByProject(memberIds);
+    }
+
+    private static List<UUID> projectIds(List<StaffingDelta> deltas) {
+        return deltas.stream().map(StaffingDelta::projectId).toList();
+    }
+
+    private List<StaffingDelta> countMembers(Membership membership, UUID projectId, Collection<UUID> memberIds) {
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+        if (membership == Membership.MANAGER) {
+            return List.of(StaffingDelta.managers(projectId, memberIds.size()));
+        }
+        var programmers = new ArrayList<Programmer>();
+        for (var chunk : Ids.chunks(Ids.sorted(memberIds))) {
+            programmers.addAll(programmerRepository.findForShareByIdIn(chunk));
+        }
+        return programmers.stream()
+                .collect(Collectors.groupingBy(programmer -> StaffingDelta.programmers(projectId,
+                        programmer.getSkillLevel(), programmer.getType(), 1), Collectors.summingInt(programmer -> 1)))
+                .entrySet().stream()
+                .map(count -> StaffingDelta.programmers(projectId, count.getKey().skillLevel(), count.getKey().type(),
+                        count.getValue()))
+                .toList();
+    }
+}
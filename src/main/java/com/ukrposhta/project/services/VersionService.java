@@ -0,0 +1,73 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.dto.EntityVersionDTO;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.ids.KnownIds;
+import com.ukrposhta.project.repositories.VersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Entity versions for conditional GETs. Every change calls {@link #touch} for the entities whose
+ * own columns or member lists it changes; changes to the details the related entities' lists
+ * embed, such as names, call {@link #touchDetails} instead. The increments run in SQL, never
+ * from an entity's in-memory copy.
+ */
+@Service
+@RequiredArgsConstructor
+public class VersionService {
+
+    private final VersionRepository versionRepository;
+
+    @Transactional
+    public void touch(EntityType type, Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            versionRepository.bump(type, ids);
+        }
+    }
+
+    /**
+     * Like {@link #touch}, and also moves the entities' join rows, which the versions of the
+     * entities listing them are read from.
+     */
+    @Transactional
+    public void touchDetails(EntityType type, Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            versionRepository.bump(type, ids);
+            versionRepository.bumpJoinRows(type, ids);
+        }
+    }
+
+    /**
+     * Looks up the entity's version and calls {@code loader} with it only if {@code notModified}
+     * rejects it, in one transaction. Empty means the client's copy is current.
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> getIfModified(EntityType type, String id, Predicate<EntityVersionDTO> notModified,
+                                         Function<EntityVersionDTO, T> loader) {
+        var version = findVersion(type, id);
+        if (notModified.test(version)) {
+            return Optional.empty();
+        }
+        return Optional.of(loader.apply(version));
+    }
+
+    /**
+     * Looks up the entity's version and calls {@code loader} with it, in one transaction.
+     */
+    @Transactional(readOnly = true)
+    public <T> T getWithVersion(EntityType type, String id, Function<EntityVersionDTO, T> loader) {
+        return loader.apply(findVersion(type, id));
+    }
+
+    private EntityVersionDTO findVersion(EntityType type, String id) {
+        return versionRepository.findVersion(type, UUID.fromString(id)).orElseThrow(() -> KnownIds.notFound(type, id));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ukrposhta.project.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+public final class Ids {
+
+    /**
+     * Upper bound for IN lists and JDBC batches.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * The order PostgreSQL sorts and locks uuids in: bytewise, so both halves compare unsigned,
+     * unlike {@link UUID#compareTo}.
+     */
+    public static final Comparator<UUID> DATABASE_ORDER =
+            Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+                    .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private Ids() {
+    }
+
+    /**
+     * Parses ids in request order, dropping duplicates and anything that is not a UUID
+     * (callers report those as not found).
+     */
+    public static Map<String, UUID> parse(List<String> ids) {
+        var parsed = new LinkedHashMap<String, UUID>();
+        for (var id : ids) {
+            try {
+                parsed.putIfAbsent(id, UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping malformed id: {}", id);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Distinct ids in {@link #DATABASE_ORDER}, for statements that lock rows chunk by chunk.
+     */
+    public static List<UUID> sorted(Collection<UUID> ids) {
+        return ids.stream().distinct().sorted(DATABASE_ORDER).toList();
+    }
+
+    public static <T> List<List<T>> chunks(Collection<T> ids) {
+        var list = new ArrayList<>(ids);
+        var chunks = new ArrayList<List<T>>();
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
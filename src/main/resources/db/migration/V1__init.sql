@@ -10,10 +10,13 @@ create table programmer
     id          uuid         not null
         primary key,
     name        varchar(255) not null,
-    skill_level varchar(255) not null,
-    type        varchar(255) not null
+    skill_level smallint     not null,
+    type        smallint     not null
 );
 
+create index idx_programmer_skill_level_type
+    on programmer (skill_level, type, id);
+
 create table project
 (
     id   uuid         not null
@@ -21,14 +24,13 @@ create table project
     name varchar(255) not null
 );
 
-
 create table manager_project
 (
     manager_id uuid not null
-        constraint fk_manager_id
+        constraint fk_manager_project_manager_id
             references manager,
     project_id uuid not null
-        constraint fk_project_id
+        constraint fk_manager_project_project_id
             references project,
     primary key (manager_id, project_id)
 );
@@ -36,10 +38,10 @@ create table manager_project
 create table programmer_project
 (
     programmer_id uuid not null
-        constraint fk_programmer_id
+        constraint fk_programmer_project_programmer_id
             references programmer,
     project_id    uuid not null
-        constraint fk_project_id
+        constraint fk_programmer_project_project_id
             references project,
     primary key (programmer_id, project_id)
 );
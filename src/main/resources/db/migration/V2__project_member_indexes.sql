@@ -0,0 +1,7 @@
+-- The primary keys lead with the member id, so "members of a project" had to scan.
+-- (project_id, member_id) answers those lookups and the project-side joins from the index alone.
+create index idx_manager_project_project_id
+    on manager_project (project_id, manager_id);
+
+create index idx_programmer_project_project_id
+    on programmer_project (project_id, programmer_id);
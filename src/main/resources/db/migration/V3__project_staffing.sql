@@ -0,0 +1,35 @@
+-- One row of member counters per project so staffing reads cost a primary-key lookup.
+-- The services adjust the counters in the same transaction as the join-table change and
+-- a scheduled reconciler recomputes drifted rows. Columns follow the SkillLevel and
+-- ProgrammerType constants.
+create table project_staffing
+(
+    project_id uuid              not null
+        primary key
+        constraint fk_project_staffing_project_id
+            references project,
+    managers   integer default 0 not null,
+    junior     integer default 0 not null,
+    middle     integer default 0 not null,
+    senior     integer default 0 not null,
+    developer  integer default 0 not null,
+    qa         integer default 0 not null,
+    devops     integer default 0 not null
+);
+
+insert into project_staffing (project_id, managers, junior, middle, senior, developer, qa, devops)
+select p.id,
+       (select count(*) from manager_project mp where mp.project_id = p.id),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.skill_level = 1),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.skill_level = 2),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.skill_level = 3),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.type = 1),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.type = 2),
+       (select count(*) from programmer_project pp join programmer g on g.id = pp.programmer_id
+        where pp.project_id = p.id and g.type = 3)
+from project p;
@@ -0,0 +1,17 @@
+-- Row versions behind the ETag / Last-Modified validators of the entity endpoints.
+-- version is bumped by every change to the row or to its memberships, so a conditional GET
+-- resolves with a lookup over these columns instead of loading the entity and its members.
+alter table manager
+    add column version bigint default 0 not null;
+alter table manager
+    add column modified_at timestamp default current_timestamp not null;
+
+alter table programmer
+    add column version bigint default 0 not null;
+alter table programmer
+    add column modified_at timestamp default current_timestamp not null;
+
+alter table project
+    add column version bigint default 0 not null;
+alter table project
+    add column modified_at timestamp default current_timestamp not null;
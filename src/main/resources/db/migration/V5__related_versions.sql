@@ -0,0 +1,31 @@
+-- Aggregate of the versions of the entities each row lists. Every version bump also bumps
+-- related_version on the rows that list the bumped entity, so a conditional GET reads one row
+-- instead of summing over the members. Starts from the current sums so validators keep growing.
+alter table manager
+    add column related_version bigint default 0 not null;
+alter table programmer
+    add column related_version bigint default 0 not null;
+alter table project
+    add column related_version bigint default 0 not null;
+
+update manager m
+set related_version = (select coalesce(sum(p.version), 0)
+                       from manager_project j
+                                join project p on p.id = j.project_id
+                       where j.manager_id = m.id);
+
+update programmer m
+set related_version = (select coalesce(sum(p.version), 0)
+                       from programmer_project j
+                                join project p on p.id = j.project_id
+                       where j.programmer_id = m.id);
+
+update project p
+set related_version = (select coalesce(sum(m.version), 0)
+                       from manager_project j
+                                join manager m on m.id = j.manager_id
+                       where j.project_id = p.id)
+    + (select coalesce(sum(m.version), 0)
+       from programmer_project j
+                join programmer m on m.id = j.programmer_id
+       where j.project_id = p.id);
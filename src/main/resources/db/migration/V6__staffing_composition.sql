@@ -0,0 +1,71 @@
+-- Replaces the per-level and per-type counters with one per level and type, so a project's
+-- composition (e.g. senior devops) is read from its row too; the marginal counts are their sums.
+alter table project_staffing
+    add column junior_developer integer default 0 not null;
+alter table project_staffing
+    add column junior_qa integer default 0 not null;
+alter table project_staffing
+    add column junior_devops integer default 0 not null;
+alter table project_staffing
+    add column middle_developer integer default 0 not null;
+alter table project_staffing
+    add column middle_qa integer default 0 not null;
+alter table project_staffing
+    add column middle_devops integer default 0 not null;
+alter table project_staffing
+    add column senior_developer integer default 0 not null;
+alter table project_staffing
+    add column senior_qa integer default 0 not null;
+alter table project_staffing
+    add column senior_devops integer default 0 not null;
+
+update project_staffing s
+set junior_developer = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 1 and g.type = 1),
+    junior_qa = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 1 and g.type = 2),
+    junior_devops = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 1 and g.type = 3),
+    middle_developer = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 2 and g.type = 1),
+    middle_qa = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 2 and g.type = 2),
+    middle_devops = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 2 and g.type = 3),
+    senior_developer = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 3 and g.type = 1),
+    senior_qa = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 3 and g.type = 2),
+    senior_devops = (select count(*)
+    from programmer_project pp
+             join programmer g on g.id = pp.programmer_id
+    where pp.project_id = s.project_id and g.skill_level = 3 and g.type = 3);
+
+alter table project_staffing
+    drop column junior;
+alter table project_staffing
+    drop column middle;
+alter table project_staffing
+    drop column senior;
+alter table project_staffing
+    drop column developer;
+alter table project_staffing
+    drop column qa;
+alter table project_staffing
+    drop column devops;
@@ -0,0 +1,32 @@
+-- related_version was bumped on every row listing a changed entity, so one membership change
+-- rewrote thousands of rows and concurrent changes locked them in no fixed order. Instead each
+-- join row records when the details of either side last changed, from one sequence, and a
+-- conditional GET reads the newest of its entity's join rows from these indexes.
+alter table manager
+    drop column related_version;
+alter table programmer
+    drop column related_version;
+alter table project
+    drop column related_version;
+
+create sequence membership_version;
+
+alter table manager_project
+    add column version bigint default 0 not null;
+alter table manager_project
+    add column modified_at timestamp default current_timestamp not null;
+
+alter table programmer_project
+    add column version bigint default 0 not null;
+alter table programmer_project
+    add column modified_at timestamp default current_timestamp not null;
+
+create index idx_manager_project_manager_version
+    on manager_project (manager_id, version);
+create index idx_manager_project_project_version
+    on manager_project (project_id, version);
+
+create index idx_programmer_project_programmer_version
+    on programmer_project (programmer_id, version);
+create index idx_programmer_project_project_version
+    on programmer_project (project_id, version);
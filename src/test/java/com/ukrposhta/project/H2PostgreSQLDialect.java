@@ -0,0 +1,20 @@
+package com.ukrposhta.project;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+
+/**
+ * The PostgreSQL dialect for the H2 test database, which has no FOR SHARE: shared row locks
+ * are taken as FOR UPDATE, the nearest lock H2 has.
+ */
+public class H2PostgreSQLDialect extends PostgreSQL10Dialect {
+
+    @Override
+    public String getReadLockString(int timeout) {
+        return getWriteLockString(timeout);
+    }
+
+    @Override
+    public String getReadLockString(String aliases, int timeout) {
+        return getWriteLockString(aliases, timeout);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ukrposhta.project;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SchemaMigrationTest {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void allMigrationsMustBeApplied() {
+		assertEquals(0, flyway.info().pending().length);
+		assertEquals("7", flyway.info().current().getVersion().getVersion());
+	}
+
+	@Test
+	void joinTablesMustHaveProjectLeadingIndexes() {
+		var indexes = jdbcTemplate.queryForList(
+				"select index_name from information_schema.indexes where table_name in ('manager_project', 'programmer_project')",
+				String.class);
+
+		assertTrue(indexes.contains("idx_manager_project_project_id"));
+		assertTrue(indexes.contains("idx_programmer_project_project_id"));
+	}
+
+}
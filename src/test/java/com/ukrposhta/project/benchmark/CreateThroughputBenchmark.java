@@ -0,0 +1,90 @@
+package com.ukrposhta.project.benchmark;
+
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Create throughput for the old merge path, the persist path save() takes now, and
+ * saveAll() with JDBC batching. Not part of the regular build: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+public class CreateThroughputBenchmark {
+
+    private static final int WARMUP = 1_000;
+    private static final int ENTITIES = 10_000;
+    private static final int BATCH = 500;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void createThroughput() {
+        // what save() did before entities reported themselves as new: merge, i.e. SELECT then INSERT
+        Runnable merge = () -> managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("benchmark")
+                .projects(new HashSet<>()).persisted(true).build());
+        Runnable save = () -> managerRepository.save(newManager());
+        Runnable saveAll = () -> {
+            var managers = new ArrayList<Manager>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                managers.add(newManager());
+            }
+            managerRepository.saveAll(managers);
+        };
+
+        run("merge", merge, WARMUP, 1);
+        run("save", save, WARMUP, 1);
+        run("saveAll", saveAll, WARMUP / BATCH, BATCH);
+
+        var mergeStatements = run("merge", merge, ENTITIES, 1);
+        var saveStatements = run("save", save, ENTITIES, 1);
+        var saveAllStatements = run("saveAll", saveAll, ENTITIES / BATCH, BATCH);
+
+        assertTrue(saveStatements < mergeStatements);
+        assertTrue(saveAllStatements <= saveStatements);
+    }
+
+    private double run(String name, Runnable create, int iterations, int perIteration) {
+        statistics.clear();
+        var start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            create.run();
+        }
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        var created = (double) iterations * perIteration;
+        var statementsPerEntity = statistics.getPrepareStatementCount() / created;
+        log.info("{}: {} creates/s, {} statements and {} loads per entity", name,
+                String.format("%.0f", created / seconds), statementsPerEntity,
+                statistics.getEntityLoadCount() / created);
+        return statementsPerEntity;
+    }
+
+    private static Manager newManager() {
+        return Manager.builder().id(UUID.randomUUID()).name("benchmark").projects(new HashSet<>()).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ukrposhta.project.benchmark;
+
+import com.ukrposhta.project.ids.IdGenerator;
+import com.ukrposhta.project.ids.RandomIdGenerator;
+import com.ukrposhta.project.ids.TimeOrderedIdGenerator;
+import com.ukrposhta.project.util.Ids;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert rate and on-disk size of a uuid primary key filled with random and with
+ * time-ordered ids, against a file-backed H2 so the size is real.
+ * Not part of the regular build: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+public class IdInsertBenchmark {
+
+    private static final int ROWS = 300_000;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+            "jdbc:h2:file:./target/id-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "", true));
+
+    @Test
+    public void insertRateAndIndexSize() {
+        var random = run("random", new RandomIdGenerator());
+        var timeOrdered = run("time_ordered", new TimeOrderedIdGenerator());
+
+        assertTrue(timeOrdered <= random);
+    }
+
+    private long run(String name, IdGenerator generator) {
+        var table = "id_benchmark_" + name;
+        jdbcTemplate.execute("drop table if exists " + table);
+        jdbcTemplate.execute("create table " + table + " (id uuid primary key, name varchar(255) not null)");
+
+        var start = System.nanoTime();
+        var batch = new ArrayList<UUID>(Ids.CHUNK_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(generator.next());
+            if (batch.size() == Ids.CHUNK_SIZE) {
+                insert(table, batch);
+                batch.clear();
+            }
+        }
+        insert(table, batch);
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        var bytes = jdbcTemplate.queryForObject("call disk_space_used('" + table + "')", Long.class);
+        log.info("{}: {} inserts/s, {} KiB on disk", name, String.format("%.0f", ROWS / seconds), bytes / 1024);
+
+        jdbcTemplate.execute("drop table " + table);
+        jdbcTemplate.execute("checkpoint");
+        return bytes;
+    }
+
+    private void insert(String table, ArrayList<UUID> ids) {
+        jdbcTemplate.batchUpdate("insert into " + table + " (id, name) values (?, 'benchmark')", ids, ids.size(),
+                (ps, id) -> ps.setObject(1, id));
+    }
+}
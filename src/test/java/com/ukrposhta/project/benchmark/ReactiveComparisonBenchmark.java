@@ -0,0 +1,129 @@
+package com.ukrposhta.project.benchmark;
+
+import com.ukrposhta.project.dto.PageDTO;
+import com.ukrposhta.project.reactive.ReactiveServer;
+import com.ukrposhta.project.services.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The same reads through the MVC API on Tomcat and the reactive API on Netty, against the same
+ * embedded database, at rising client concurrency: throughput, p50 / p99 latency and the most
+ * request threads each server ran at once. Pages are used because neither API caches them.
+ * H2 answers R2DBC queries on the calling thread, so on the embedded database this compares
+ * the two web stacks and their thread use, not non-blocking database I/O; point
+ * {@code spring.datasource} and {@code spring.r2dbc} at PostgreSQL for that.
+ * Not part of the regular build: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveComparisonBenchmark {
+
+    private static final int PROJECTS = 5_000;
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 10_000;
+    private static final int[] CONCURRENCY = {16, 64, 256, 1024};
+
+    @LocalServerPort
+    private int mvcPort;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Autowired
+    private ProjectService projectService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+
+    @Test
+    public void mvcVersusReactive() throws Exception {
+        var projectIds = new ArrayList<String>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projectIds.add(projectService.createProject("benchmark-" + i));
+        }
+
+        var pages = projectIds.stream().map(id -> "/api/v1/project?size=" + PageDTO.DEFAULT_SIZE + "&after=" + id).toList();
+        var stacks = List.of(new Stack("mvc", mvcPort, "http-nio-"), new Stack("reactive", reactiveServer.getPort(), "reactor-http-"));
+
+        for (var stack : stacks) {
+            run(stack, pages, 64, WARMUP);
+        }
+        for (var concurrency : CONCURRENCY) {
+            for (var stack : stacks) {
+                run(stack, pages, concurrency, REQUESTS);
+            }
+        }
+    }
+
+    private void run(Stack stack, List<String> paths, int concurrency, int requests) throws InterruptedException {
+        var peakThreads = new AtomicInteger();
+        var sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet(stack.threads(), Math::max), 0, 20, TimeUnit.MILLISECONDS);
+        var permits = new Semaphore(concurrency);
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var failures = new AtomicInteger();
+
+        var start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            var path = paths.get(ThreadLocalRandom.current().nextInt(paths.size()));
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + stack.port() + path)).GET().build();
+            permits.acquire();
+            var sent = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    failures.incrementAndGet();
+                }
+                latencies.add(System.nanoTime() - sent);
+                permits.release();
+            });
+        }
+        permits.acquire(concurrency);
+        var seconds = (System.nanoTime() - start) / 1e9;
+        sampler.shutdownNow();
+
+        var sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        log.info("{} at concurrency {}: {} requests/s, p50 {} ms, p99 {} ms, {} request threads", stack.name(), concurrency,
+                String.format("%.0f", requests / seconds), String.format("%.1f", percentile(sorted, 0.50)),
+                String.format("%.1f", percentile(sorted, 0.99)), peakThreads.get());
+        assertEquals(0, failures.get());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1e6;
+    }
+
+    /**
+     * A server under test and the name prefix of its request threads.
+     */
+    private record Stack(String name, int port, String threadPrefix) {
+
+        private int threads() {
+            return (int) Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith(threadPrefix))
+                    .count();
+        }
+    }
+}
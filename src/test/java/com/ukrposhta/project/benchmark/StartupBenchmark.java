@@ -0,0 +1,42 @@
+package com.ukrposhta.project.benchmark;
+
+import com.ukrposhta.project.ProjectApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.stream.Stream;
+
+/**
+ * Context startup with Hibernate recreating the schema versus Flyway plus validation,
+ * on an empty database and on one that is already migrated (the usual restart).
+ * Not part of the regular build: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+public class StartupBenchmark {
+
+    private static final int RUNS = 5;
+
+    @Test
+    public void startupTime() {
+        for (int i = 0; i < RUNS; i++) {
+            start("ddl-auto create", "startup-create-" + i, "--spring.flyway.enabled=false",
+                    "--spring.jpa.hibernate.ddl-auto=create");
+            start("flyway on empty database", "startup-flyway-" + i);
+            start("flyway on migrated database", "startup-flyway-" + i);
+        }
+    }
+
+    private void start(String name, String database, String... args) {
+        var url = "--spring.datasource.url=jdbc:h2:mem:" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+        var start = System.nanoTime();
+        try (var context = new SpringApplicationBuilder(ProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(Stream.concat(Stream.of(url), Stream.of(args)).toArray(String[]::new))) {
+            log.info("{}: started in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ukrposhta.project.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CacheConfigTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void disabledCacheMustBeReplacedByNoOpCache() {
+        var properties = new EntityCacheProperties();
+        var disabled = new EntityCacheProperties.Spec();
+        disabled.setEnabled(false);
+        properties.getSpecs().put(CacheNames.MANAGER_RANKING, disabled);
+
+        var manager = (SimpleCacheManager) new CacheConfig().cacheManager(properties);
+        manager.initializeCaches();
+
+        assertInstanceOf(NoOpCache.class, manager.getCache(CacheNames.MANAGER_RANKING));
+        assertInstanceOf(CaffeineCache.class, manager.getCache(CacheNames.PROGRAMMER_BREAKDOWN));
+    }
+
+    @Test
+    public void responseCacheMustBeBoundedByBytesNotEntries() {
+        var eviction = ((CaffeineCache) cacheManager.getCache(CacheNames.RESPONSES)).getNativeCache()
+                .policy().eviction().orElseThrow();
+
+        assertTrue(eviction.isWeighted());
+        assertEquals(DataSize.ofMegabytes(1).toBytes(), eviction.getMaximum());
+    }
+}
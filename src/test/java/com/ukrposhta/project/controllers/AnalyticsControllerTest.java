@@ -0,0 +1,150 @@
+package com.ukrposhta.project.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProgrammerRepository programmerRepository;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void breakdownMustAccountForEveryProgrammer() throws Exception {
+        saveProgrammer(SkillLevel.SENIOR, ProgrammerType.DEVOPS, new HashSet<>());
+
+        var breakdown = read(get("/api/v1/analytics/programmers/breakdown"));
+
+        long total = 0;
+        for (var row : breakdown) {
+            total += row.get("programmers").asLong();
+        }
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from programmer", Long.class), total);
+    }
+
+    @Test
+    public void rankingMustPutTheBusiestManagerFirst() throws Exception {
+        var projects = new HashSet<Project>();
+        for (int i = 0; i < 200; i++) {
+            projects.add(saveProject());
+        }
+        var manager = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("busiest")
+                .projects(projects).build());
+
+        mockMvc.perform(get("/api/v1/analytics/managers/ranking").param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(manager.getId().toString()))
+                .andExpect(jsonPath("$[0].projects").value(200));
+    }
+
+    @Test
+    public void mustListProjectsWithoutSeniorProgrammers() throws Exception {
+        var staffed = saveProject();
+        var understaffed = saveProject();
+        saveProgrammer(SkillLevel.SENIOR, ProgrammerType.DEVELOPER, new HashSet<>(Set.of(staffed)));
+        saveProgrammer(SkillLevel.JUNIOR, ProgrammerType.DEVELOPER, new HashSet<>(Set.of(staffed, understaffed)));
+
+        var ids = walk("/api/v1/analytics/projects/without/SENIOR");
+
+        assertTrue(ids.contains(understaffed.getId().toString()));
+        assertFalse(ids.contains(staffed.getId().toString()));
+    }
+
+    @Test
+    public void mustListUnassignedManagersAndProgrammers() throws Exception {
+        var project = saveProject();
+        var idleManager = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("idle")
+                .projects(new HashSet<>()).build());
+        var busyManager = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("busy")
+                .projects(new HashSet<>(Set.of(project))).build());
+        var idleProgrammer = saveProgrammer(SkillLevel.MIDDLE, ProgrammerType.QA, new HashSet<>());
+        var busyProgrammer = saveProgrammer(SkillLevel.MIDDLE, ProgrammerType.QA, new HashSet<>(Set.of(project)));
+
+        var managers = walk("/api/v1/analytics/managers/unassigned");
+        assertTrue(managers.contains(idleManager.getId().toString()));
+        assertFalse(managers.contains(busyManager.getId().toString()));
+
+        var programmers = walk("/api/v1/analytics/programmers/unassigned");
+        assertTrue(programmers.contains(idleProgrammer.getId().toString()));
+        assertFalse(programmers.contains(busyProgrammer.getId().toString()));
+    }
+
+    private Project saveProject() {
+        return projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("ukrposhta")
+                .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+    }
+
+    private Programmer saveProgrammer(SkillLevel skillLevel, ProgrammerType type, Set<Project> projects) {
+        return programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Antony")
+                .skillLevel(skillLevel).type(type).projects(projects).build());
+    }
+
+    private Set<String> walk(String url) throws Exception {
+        var ids = new HashSet<String>();
+        String after = null;
+        do {
+            var request = get(url).param("size", "500");
+            if (after != null) {
+                request.param("after", after);
+            }
+            var page = read(request);
+            page.get("content").forEach(item -> ids.add(item.get("id").asText()));
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (after != null);
+        return ids;
+    }
+
+    private JsonNode read(RequestBuilder request) throws Exception {
+        var body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ukrposhta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.ProjectExportDTO;
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private ProgrammerRepository programmerRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void mustStreamEveryProjectWithItsMembersAsOneLine() throws Exception {
+        var staffed = projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("exported")
+                .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+        var empty = projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("empty")
+                .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+
+        var manager = Manager.builder().id(UUID.randomUUID()).name("Iryna").projects(new HashSet<>()).build();
+        manager.addProject(staffed);
+        managerRepository.save(manager);
+
+        var programmer = Programmer.builder().id(UUID.randomUUID()).name("Bohdan")
+                .skillLevel(SkillLevel.SENIOR).type(ProgrammerType.DEVOPS).projects(new HashSet<>()).build();
+        programmer.addProject(staffed);
+        programmerRepository.save(programmer);
+
+        var started = mockMvc.perform(get("/api/v1/export/projects"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        var lines = body.strip().split("\n");
+        assertEquals(projectRepository.count(), lines.length);
+
+        ProjectExportDTO exported = null;
+        ProjectExportDTO exportedEmpty = null;
+        for (var line : lines) {
+            var project = objectMapper.readValue(line, ProjectExportDTO.class);
+            if (project.id().equals(staffed.getId())) {
+                exported = project;
+            } else if (project.id().equals(empty.getId())) {
+                exportedEmpty = project;
+            }
+        }
+
+        assertEquals("exported", exported.projectName());
+        assertEquals(manager.getId(), exported.managers().get(0).id());
+        assertEquals(SkillLevel.SENIOR, exported.programmers().get(0).skillLevel());
+        assertTrue(exportedEmpty.managers().isEmpty());
+        assertTrue(exportedEmpty.programmers().isEmpty());
+    }
+}
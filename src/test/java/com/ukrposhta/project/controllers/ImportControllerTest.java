@@ -0,0 +1,231 @@
+package com.ukrposhta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.ImportProgressDTO;
+import com.ukrposhta.project.dto.ImportResultDTO;
+import com.ukrposhta.project.enums.ImportKind;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.util.Ids;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The JDBC template answers every batch with SUCCESS_NO_INFO, as pgjdbc does for batches it
+ * rewrites with reWriteBatchedInserts, so duplicates must be found without update counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ImportControllerTest {
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private ProgrammerRepository programmerRepository;
+
+    @BeforeEach
+    public void initEach() {
+        doAnswer(invocation -> {
+            var counts = (int[][]) invocation.callRealMethod();
+            for (var batch : counts) {
+                Arrays.fill(batch, Statement.SUCCESS_NO_INFO);
+            }
+            return counts;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    public void mustImportEntitiesAndMembershipsAndReportBadLines() throws Exception {
+        var projectId = UUID.randomUUID();
+        var managerId = UUID.randomUUID();
+        var programmerId = UUID.randomUUID();
+
+        var body = String.join("\n",
+                "{\"kind\":\"PROJECT\",\"id\":\"" + projectId + "\",\"name\":\"imported\"}",
+                "{\"kind\":\"MANAGER\",\"id\":\"" + managerId + "\",\"name\":\"Olena\"}",
+                "{\"kind\":\"PROGRAMMER\",\"id\":\"" + programmerId + "\",\"name\":\"Taras\",\"skillLevel\":\"SENIOR\",\"type\":\"QA\"}",
+                "",
+                "{\"kind\":\"MANAGER_PROJECT\",\"memberId\":\"" + managerId + "\",\"projectId\":\"" + projectId + "\"}",
+                "{\"kind\":\"PROGRAMMER_PROJECT\",\"memberId\":\"" + programmerId + "\",\"projectId\":\"" + projectId + "\"}",
+                "{\"kind\":\"PROGRAMMER\",\"name\":\"No level\"}",
+                "not json",
+                "{\"kind\":\"MANAGER\",\"id\":\"" + managerId + "\",\"name\":\"Duplicate\"}",
+                "{\"kind\":\"MANAGER_PROJECT\",\"memberId\":\"" + managerId + "\",\"projectId\":\"" + UUID.randomUUID() + "\"}");
+
+        mockMvc.perform(post("/api/v1/import")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(10))
+                .andExpect(jsonPath("$.imported.PROJECT").value(1))
+                .andExpect(jsonPath("$.imported.MANAGER").value(1))
+                .andExpect(jsonPath("$.imported.PROGRAMMER").value(1))
+                .andExpect(jsonPath("$.imported.MANAGER_PROJECT").value(1))
+                .andExpect(jsonPath("$.imported.PROGRAMMER_PROJECT").value(1))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors[0].line").value(7))
+                .andExpect(jsonPath("$.errors[1].line").value(8))
+                .andExpect(jsonPath("$.errors[2].line").value(9))
+                .andExpect(jsonPath("$.errors[3].line").value(10));
+
+        assertEquals("Olena", managerRepository.findById(managerId).orElseThrow().getName());
+
+        mockMvc.perform(get("/api/v1/project/managers/" + projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(managerId.toString()));
+        mockMvc.perform(get("/api/v1/project/programmers/" + projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("QA"));
+    }
+
+    @Test
+    public void mustReportExistingIdsAndMembershipsWithoutOverwritingThem() throws Exception {
+        var projectId = UUID.randomUUID();
+        var managerId = UUID.randomUUID();
+        var first = String.join("\n",
+                "{\"kind\":\"PROJECT\",\"id\":\"" + projectId + "\",\"name\":\"imported\"}",
+                "{\"kind\":\"MANAGER\",\"id\":\"" + managerId + "\",\"name\":\"Xenia\"}",
+                "{\"kind\":\"MANAGER_PROJECT\",\"memberId\":\"" + managerId + "\",\"projectId\":\"" + projectId + "\"}");
+        mockMvc.perform(post("/api/v1/import").content(first).contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(0));
+
+        var second = String.join("\n",
+                "{\"kind\":\"MANAGER\",\"id\":\"" + managerId + "\",\"name\":\"Overwritten\"}",
+                "{\"kind\":\"MANAGER_PROJECT\",\"memberId\":\"" + managerId + "\",\"projectId\":\"" + projectId + "\"}",
+                "{\"kind\":\"MANAGER_PROJECT\",\"memberId\":\"" + managerId + "\",\"projectId\":\"" + projectId + "\"}");
+        mockMvc.perform(post("/api/v1/import").content(second).contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported.MANAGER").doesNotExist())
+                .andExpect(jsonPath("$.imported.MANAGER_PROJECT").doesNotExist())
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Id already exists: " + managerId))
+                .andExpect(jsonPath("$.errors[1].message").value("Membership already exists"))
+                .andExpect(jsonPath("$.errors[2].message").value("Membership already exists"));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "Xenia"))
+                .andExpect(jsonPath("$[0].id").value(managerId.toString()));
+        mockMvc.perform(get("/api/v1/search").param("q", "Overwritten"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void failedBatchMustBeReportedWhileEarlierBatchesStayImported() throws Exception {
+        var calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new DataIntegrityViolationException("rejected by the database");
+            }
+            return invocation.callRealMethod();
+        }).when(jdbcTemplate).batchUpdate(startsWith("insert into manager "), anyCollection(), anyInt(), any());
+
+        var body = new StringBuilder();
+        for (int i = 0; i < Ids.CHUNK_SIZE + 10; i++) {
+            body.append("{\"kind\":\"MANAGER\",\"name\":\"Batched ").append(i).append("\"}\n");
+        }
+
+        mockMvc.perform(post("/api/v1/import")
+                        .content(body.toString())
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported.MANAGER").value(Ids.CHUNK_SIZE))
+                .andExpect(jsonPath("$.failed").value(10))
+                .andExpect(jsonPath("$.errors[0].line").value(Ids.CHUNK_SIZE + 1))
+                .andExpect(jsonPath("$.errors[0].message").value("Batch not imported: rejected by the database"));
+    }
+
+    @Test
+    public void mustImportMoreLinesThanOneBatch() throws Exception {
+        var before = programmerRepository.count();
+        var body = new StringBuilder();
+        for (int i = 0; i < 1234; i++) {
+            body.append("{\"kind\":\"PROGRAMMER\",\"name\":\"Imported ").append(i)
+                    .append("\",\"skillLevel\":\"JUNIOR\",\"type\":\"DEVELOPER\"}\n");
+        }
+
+        mockMvc.perform(post("/api/v1/import")
+                        .content(body.toString())
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported.PROGRAMMER").value(1234))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertTrue(programmerRepository.count() >= before + 1234);
+    }
+
+    @Test
+    public void mustStreamProgressPerBatchBeforeTheResult() throws Exception {
+        var body = new StringBuilder();
+        for (int i = 0; i < Ids.CHUNK_SIZE + 10; i++) {
+            body.append("{\"kind\":\"MANAGER\",\"name\":\"Progress ").append(i).append("\"}\n");
+        }
+        body.append("not json\n");
+
+        var started = mockMvc.perform(post("/api/v1/import")
+                        .content(body.toString())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = response.strip().split("\n");
+        assertEquals(3, lines.length);
+
+        var first = objectMapper.readValue(lines[0], ImportProgressDTO.class);
+        assertEquals(new ImportProgressDTO(1, Ids.CHUNK_SIZE, Ids.CHUNK_SIZE, 0), first);
+        var second = objectMapper.readValue(lines[1], ImportProgressDTO.class);
+        assertEquals(new ImportProgressDTO(2, Ids.CHUNK_SIZE + 11, 10, 1), second);
+
+        var result = objectMapper.readValue(lines[2], ImportResultDTO.class);
+        assertEquals(Ids.CHUNK_SIZE + 11, result.lines());
+        assertEquals(Ids.CHUNK_SIZE + 10, result.imported().get(ImportKind.MANAGER));
+        assertEquals(1, result.failed());
+        assertEquals(Ids.CHUNK_SIZE + 11, result.errors().get(0).line());
+    }
+}
@@ -1,6 +1,9 @@
 package com.ukrposhta.project.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.cache.CacheNames;
+import com.ukrposhta.project.dto.BatchDeleteDTO;
+import com.ukrposhta.project.dto.BatchGetDTO;
 import com.ukrposhta.project.dto.ChangeManagerNameDTO;
 import com.ukrposhta.project.dto.CreateManagerDTO;
 import com.ukrposhta.project.dto.UpdateProjectsDTO;
@@ -8,19 +11,30 @@ import com.ukrposhta.project.entities.Manager;
 import com.ukrposhta.project.entities.Project;
 import com.ukrposhta.project.repositories.ManagerRepository;
 import com.ukrposhta.project.repositories.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +54,12 @@ public class ManagerControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private UUID managerId;
     private Manager manager;
     private UUID projectId;
@@ -232,4 +252,227 @@ public class ManagerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    @Test
+    public void mustBulkDeleteManagersAndDetachThemFromProjects() throws Exception {
+
+        var savedProject = projectRepository.save(project);
+        var savedManager = managerRepository.save(manager);
+        savedManager.addProject(savedProject);
+        managerRepository.save(savedManager);
+        var missingId = UUID.randomUUID().toString();
+
+        var batchDeleteDTO = new BatchDeleteDTO(List.of(missingId, managerId.toString()));
+
+        mockMvc.perform(post("/api/v1/manager/batch/delete")
+                        .content(objectMapper.writeValueAsString(batchDeleteDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted[0]").value(managerId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId));
+
+        assertTrue(managerRepository.findById(managerId).isEmpty());
+
+        mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void mustResolveBatchOfIdsInRequestOrderAndListMissingOnes() throws Exception {
+
+        managerRepository.save(manager);
+        var missingId = UUID.randomUUID().toString();
+
+        var batchGetDTO = new BatchGetDTO(List.of(missingId, managerId.toString(), "not-a-uuid"));
+
+        mockMvc.perform(post("/api/v1/manager/batch")
+                        .content(objectMapper.writeValueAsString(batchGetDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.length()").value(1))
+                .andExpect(jsonPath("$.found[0].id").value(managerId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId))
+                .andExpect(jsonPath("$.missing[1]").value("not-a-uuid"));
+    }
+
+    @Test
+    public void mustWalkAllManagersPageByPageWithCursor() throws Exception {
+
+        var savedIds = new HashSet<String>();
+        for (int i = 0; i < 5; i++) {
+            var saved = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("Alex")
+                    .projects(new HashSet<>()).build());
+            savedIds.add(saved.getId().toString());
+        }
+
+        var walkedIds = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/manager").param("size", "2");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+
+            var content = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(lessThanOrEqualTo(2)))
+                    .andReturn().getResponse().getContentAsString();
+
+            var page = objectMapper.readTree(content);
+            page.get("content").forEach(node -> walkedIds.add(node.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(new HashSet<>(walkedIds).size(), walkedIds.size());
+        assertTrue(walkedIds.containsAll(savedIds));
+    }
+
+    @Test
+    public void projectsMustBeListedInTheSameOrderWithAndWithoutFieldSelection() throws Exception {
+        var low = new UUID(0x1000_0000_0000_0000L, ThreadLocalRandom.current().nextLong());
+        var high = new UUID(0xf000_0000_0000_0000L, ThreadLocalRandom.current().nextLong());
+        for (var id : List.of(high, low)) {
+            var other = Project.builder().id(id).projectName("ordered")
+                    .managers(new HashSet<>()).programmers(new HashSet<>()).build();
+            projectRepository.save(other);
+            manager.getProjects().add(other);
+        }
+        managerRepository.save(manager);
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects[0].id").value(low.toString()))
+                .andExpect(jsonPath("$.projects[1].id").value(high.toString()));
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "projects.projectName")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects[0].id").value(low.toString()))
+                .andExpect(jsonPath("$.projects[1].id").value(high.toString()));
+    }
+
+    @Test
+    public void mustReturnOnlySelectedFieldsAndExpandedRelations() throws Exception {
+
+        manager.getProjects().add(project);
+        projectRepository.save(project);
+        managerRepository.save(manager);
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "name")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(managerId.toString()))
+                .andExpect(jsonPath("$.name").value("Alex"))
+                .andExpect(jsonPath("$.projects").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "projects.projectName")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").doesNotExist())
+                .andExpect(jsonPath("$.projects[0].id").value(projectId.toString()))
+                .andExpect(jsonPath("$.projects[0].projectName").value("ukrposhta"));
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("expand", "projects")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Alex"))
+                .andExpect(jsonPath("$.projects[0].projectName").value("ukrposhta"));
+
+        mockMvc.perform(get("/api/v1/manager")
+                        .param("fields", "id")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].name").doesNotExist());
+    }
+
+    @Test
+    public void mustRejectTooDeepOrUnknownSelections() throws Exception {
+
+        managerRepository.save(manager);
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "projects.managers.name")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").isNotEmpty());
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("expand", "programmers")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").isNotEmpty());
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "nickname")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field: nickname"));
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .param("fields", "projects.budget")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field: projects.budget"));
+
+        mockMvc.perform(get("/api/v1/manager")
+                        .param("fields", "nickname")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field: nickname"));
+    }
+
+    @Test
+    public void repeatedGetMustBeServedFromResponseCacheUntilManagerChanges() throws Exception {
+
+        managerRepository.save(manager);
+        var responses = ((CaffeineCache) cacheManager.getCache(CacheNames.RESPONSES)).getNativeCache();
+
+        var first = mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        var hitsBefore = responses.stats().hitCount();
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(first, true));
+        assertEquals(hitsBefore + 1, responses.stats().hitCount());
+
+        mockMvc.perform(post("/api/v1/manager/name")
+                        .content(objectMapper.writeValueAsString(new ChangeManagerNameDTO(managerId.toString(), "Martin")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Martin"));
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", CacheNames.RESPONSES).tag("result", "hit").functionCounter());
+    }
 }
@@ -16,9 +16,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -48,8 +56,8 @@ public class ProgrammerControllerTest {
     @BeforeEach
     public void initEach() {
         programmerId = UUID.randomUUID();
-        programmer = Programmer.builder().id(programmerId).name("Antony").skillLevel(SkillLevel.MIDDLE.name())
-                .type(ProgrammerType.DEVELOPER.name()).projects(new HashSet<>()).build();
+        programmer = Programmer.builder().id(programmerId).name("Antony").skillLevel(SkillLevel.MIDDLE)
+                .type(ProgrammerType.DEVELOPER).projects(new HashSet<>()).build();
 
         projectId = UUID.randomUUID();
         project = Project.builder().id(projectId).projectName("ukrposhta")
@@ -215,7 +223,8 @@ public class ProgrammerControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(programmerId.toString()))
-                .andExpect(jsonPath("$.skillLevel").value("QA"));
+                .andExpect(jsonPath("$.type").value("QA"))
+                .andExpect(jsonPath("$.skillLevel").value("MIDDLE"));
     }
 
     @Test
@@ -280,4 +289,101 @@ public class ProgrammerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    @Test
+    public void mustResolveBatchOfIdsInRequestOrderAndListMissingOnes() throws Exception {
+
+        programmerRepository.save(programmer);
+        var missingId = UUID.randomUUID().toString();
+
+        var batchGetDTO = new BatchGetDTO(List.of(missingId, programmerId.toString(), "not-a-uuid"));
+
+        mockMvc.perform(post("/api/v1/programmer/batch")
+                        .content(objectMapper.writeValueAsString(batchGetDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.length()").value(1))
+                .andExpect(jsonPath("$.found[0].id").value(programmerId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId))
+                .andExpect(jsonPath("$.missing[1]").value("not-a-uuid"));
+    }
+
+    @Test
+    public void mustSearchProgrammersBySkillLevelTypeAndAssignment() throws Exception {
+
+        var assigned = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Assigned")
+                .skillLevel(SkillLevel.SENIOR).type(ProgrammerType.DEVOPS).projects(new HashSet<>()).build());
+        var unassigned = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Unassigned")
+                .skillLevel(SkillLevel.SENIOR).type(ProgrammerType.DEVOPS).projects(new HashSet<>()).build());
+        var middle = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Middle")
+                .skillLevel(SkillLevel.MIDDLE).type(ProgrammerType.DEVOPS).projects(new HashSet<>()).build());
+        projectRepository.save(project);
+
+        mockMvc.perform(post("/api/v1/programmer/projects/add")
+                        .content(objectMapper.writeValueAsString(new UpdateProjectsDTO(assigned.getId().toString(), projectId.toString())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        var content = mockMvc.perform(get("/api/v1/programmer/search")
+                        .param("skillLevel", "SENIOR")
+                        .param("type", "DEVOPS")
+                        .param("assigned", "false")
+                        .param("size", String.valueOf(PageDTO.MAX_SIZE))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].skillLevel", everyItem(is("SENIOR"))))
+                .andExpect(jsonPath("$.content[*].type", everyItem(is("DEVOPS"))))
+                .andReturn().getResponse().getContentAsString();
+
+        var ids = new ArrayList<String>();
+        objectMapper.readTree(content).get("content").forEach(node -> ids.add(node.get("id").asText()));
+        assertTrue(ids.contains(unassigned.getId().toString()));
+        assertFalse(ids.contains(assigned.getId().toString()));
+        assertFalse(ids.contains(middle.getId().toString()));
+
+        mockMvc.perform(get("/api/v1/programmer/search")
+                        .param("projectId", projectId.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(assigned.getId().toString()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    public void mustWalkAllProgrammersPageByPageWithCursor() throws Exception {
+
+        var savedIds = new HashSet<String>();
+        for (int i = 0; i < 5; i++) {
+            var saved = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Antony")
+                    .skillLevel(SkillLevel.MIDDLE).type(ProgrammerType.DEVELOPER)
+                    .projects(new HashSet<>()).build());
+            savedIds.add(saved.getId().toString());
+        }
+
+        var walkedIds = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/programmer").param("size", "2");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+
+            var content = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(lessThanOrEqualTo(2)))
+                    .andReturn().getResponse().getContentAsString();
+
+            var page = objectMapper.readTree(content);
+            page.get("content").forEach(node -> walkedIds.add(node.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(new HashSet<>(walkedIds).size(), walkedIds.size());
+        assertTrue(walkedIds.containsAll(savedIds));
+    }
 }
@@ -15,12 +15,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -58,8 +65,8 @@ public class ProjectControllerTest {
                 .projects(new HashSet<>()).build();
 
         programmerId = UUID.randomUUID();
-        programmer = Programmer.builder().id(programmerId).name("Antony").skillLevel(SkillLevel.MIDDLE.name())
-                .type(ProgrammerType.DEVELOPER.name()).projects(new HashSet<>()).build();
+        programmer = Programmer.builder().id(programmerId).name("Antony").skillLevel(SkillLevel.MIDDLE)
+                .type(ProgrammerType.DEVELOPER).projects(new HashSet<>()).build();
 
         projectId = UUID.randomUUID();
         project = Project.builder().id(projectId).projectName("ukrposhta")
@@ -298,4 +305,330 @@ public class ProjectControllerTest {
                 .andDo(print())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    @Test
+    public void mustBulkAddProgrammersAndReportPerIdResults() throws Exception {
+
+        projectRepository.save(project);
+        programmerRepository.save(programmer);
+
+        var secondProgrammer = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("Bob")
+                .skillLevel(SkillLevel.SENIOR).type(ProgrammerType.QA).projects(new HashSet<>()).build());
+        var missingId = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/project/programmers/add")
+                        .content(objectMapper.writeValueAsString(new UpdateProgrammersDTO(projectId.toString(), programmerId.toString())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        var bulkUpdateProgrammersDTO = new BulkUpdateProgrammersDTO(projectId.toString(),
+                List.of(programmerId.toString(), secondProgrammer.getId().toString(), missingId));
+
+        mockMvc.perform(post("/api/v1/project/programmers/add/bulk")
+                        .content(objectMapper.writeValueAsString(bulkUpdateProgrammersDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['" + programmerId + "']").value("ALREADY_PRESENT"))
+                .andExpect(jsonPath("$.results['" + secondProgrammer.getId() + "']").value("ADDED"))
+                .andExpect(jsonPath("$.results['" + missingId + "']").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/v1/project/programmers/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void mustBulkRemoveManagersAndReportPerIdResults() throws Exception {
+
+        projectRepository.save(project);
+        managerRepository.save(manager);
+
+        var notMember = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("Bob")
+                .projects(new HashSet<>()).build());
+
+        mockMvc.perform(post("/api/v1/project/managers/add/bulk")
+                        .content(objectMapper.writeValueAsString(
+                                new BulkUpdateManagersDTO(projectId.toString(), List.of(managerId.toString()))))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['" + managerId + "']").value("ADDED"));
+
+        var bulkUpdateManagersDTO = new BulkUpdateManagersDTO(projectId.toString(),
+                List.of(managerId.toString(), notMember.getId().toString(), "not-a-uuid"));
+
+        mockMvc.perform(post("/api/v1/project/managers/remove/bulk")
+                        .content(objectMapper.writeValueAsString(bulkUpdateManagersDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['" + managerId + "']").value("REMOVED"))
+                .andExpect(jsonPath("$.results['" + notMember.getId() + "']").value("NOT_PRESENT"))
+                .andExpect(jsonPath("$.results['not-a-uuid']").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void mustResolveBatchOfIdsInRequestOrderAndListMissingOnes() throws Exception {
+
+        projectRepository.save(project);
+        var missingId = UUID.randomUUID().toString();
+
+        var batchGetDTO = new BatchGetDTO(List.of(missingId, projectId.toString(), "not-a-uuid"));
+
+        mockMvc.perform(post("/api/v1/project/batch")
+                        .content(objectMapper.writeValueAsString(batchGetDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.length()").value(1))
+                .andExpect(jsonPath("$.found[0].id").value(projectId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId))
+                .andExpect(jsonPath("$.missing[1]").value("not-a-uuid"));
+    }
+
+    @Test
+    public void mustBulkDeleteProjectsWithTheirMembershipsAndListMissingOnes() throws Exception {
+
+        var savedProject = projectRepository.save(project);
+        var savedManager = managerRepository.save(manager);
+        savedManager.addProject(savedProject);
+        managerRepository.save(savedManager);
+        var missingId = UUID.randomUUID().toString();
+
+        var batchDeleteDTO = new BatchDeleteDTO(List.of(projectId.toString(), missingId, "not-a-uuid"));
+
+        mockMvc.perform(post("/api/v1/project/batch/delete")
+                        .content(objectMapper.writeValueAsString(batchDeleteDTO))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted[0]").value(projectId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId))
+                .andExpect(jsonPath("$.missing[1]").value("not-a-uuid"));
+
+        assertTrue(projectRepository.findById(projectId).isEmpty());
+
+        mockMvc.perform(get("/api/v1/manager/projects/{id}", managerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void mustReturnStaffingCountsOfProject() throws Exception {
+
+        var savedProject = projectRepository.save(project);
+        var savedProgrammer = programmerRepository.save(programmer);
+        var savedManager = managerRepository.save(manager);
+        savedManager.addProject(savedProject);
+        savedProgrammer.addProject(savedProject);
+        managerRepository.save(savedManager);
+        programmerRepository.save(savedProgrammer);
+
+        mockMvc.perform(get("/api/v1/project/staffing/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.managers").value(1))
+                .andExpect(jsonPath("$.programmers").value(1))
+                .andExpect(jsonPath("$.skillLevels.MIDDLE").value(1))
+                .andExpect(jsonPath("$.skillLevels.SENIOR").value(0))
+                .andExpect(jsonPath("$.types.DEVELOPER").value(1));
+
+        mockMvc.perform(get("/api/v1/project/staffing/{id}", UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void mustReturnDashboardWithRequestedSectionsOnly() throws Exception {
+
+        var savedProject = projectRepository.save(project);
+        var savedManager = managerRepository.save(manager);
+        savedManager.addProject(savedProject);
+        managerRepository.save(savedManager);
+        for (int i = 0; i < 3; i++) {
+            programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("programmer-" + i)
+                    .skillLevel(SkillLevel.JUNIOR).type(ProgrammerType.QA)
+                    .projects(new HashSet<>(List.of(savedProject))).build());
+        }
+
+        var body = mockMvc.perform(get("/api/v1/project/dashboard/{id}", projectId)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.projectName").value("ukrposhta"))
+                .andExpect(jsonPath("$.managers.content[0].id").value(managerId.toString()))
+                .andExpect(jsonPath("$.managers.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.programmers.content.length()").value(2))
+                .andExpect(jsonPath("$.staffing.skillLevels.JUNIOR").value(3))
+                .andReturn().getResponse().getContentAsString();
+
+        var cursor = objectMapper.readTree(body).get("programmers").get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/project/dashboard/{id}", projectId)
+                        .param("sections", "PROGRAMMERS")
+                        .param("programmersAfter", cursor)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.id").value(projectId.toString()))
+                .andExpect(jsonPath("$.programmers.content.length()").value(1))
+                .andExpect(jsonPath("$.managers").doesNotExist())
+                .andExpect(jsonPath("$.staffing").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/project/dashboard/{id}", UUID.randomUUID())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void mustWalkAllProjectsPageByPageWithCursor() throws Exception {
+
+        var savedIds = new HashSet<String>();
+        for (int i = 0; i < 5; i++) {
+            var saved = projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("ukrposhta")
+                    .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+            savedIds.add(saved.getId().toString());
+        }
+
+        var walkedIds = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/project").param("size", "2");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+
+            var content = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(lessThanOrEqualTo(2)))
+                    .andReturn().getResponse().getContentAsString();
+
+            var page = objectMapper.readTree(content);
+            page.get("content").forEach(node -> walkedIds.add(node.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(new HashSet<>(walkedIds).size(), walkedIds.size());
+        assertTrue(walkedIds.containsAll(savedIds));
+    }
+
+    @Test
+    public void mustAnswerNotModifiedUntilMembershipOrMemberChanges() throws Exception {
+
+        projectRepository.save(project);
+        managerRepository.save(manager);
+
+        var etag = mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/v1/project/managers/add")
+                        .content(objectMapper.writeValueAsString(new UpdateManagersDTO(projectId.toString(), managerId.toString())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        etag = assertModified("/api/v1/project/managers/{id}", etag);
+
+        mockMvc.perform(post("/api/v1/manager/name")
+                        .content(objectMapper.writeValueAsString(new ChangeManagerNameDTO(managerId.toString(), "Martin")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        etag = assertModified("/api/v1/project/managers/{id}", etag);
+
+        mockMvc.perform(delete("/api/v1/manager/{id}", managerId))
+                .andExpect(status().isOk());
+        assertModified("/api/v1/project/managers/{id}", etag);
+    }
+
+    @Test
+    public void memberListsMustApplySelectedFields() throws Exception {
+
+        projectRepository.save(project);
+        programmer.addProject(project);
+        programmerRepository.save(programmer);
+
+        mockMvc.perform(get("/api/v1/project/programmers/{id}", projectId)
+                        .param("fields", "skillLevel")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].id").value(programmerId.toString()))
+                .andExpect(jsonPath("$[0].skillLevel").value("MIDDLE"))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/programmer/projects/{id}", programmerId)
+                        .param("fields", "projectName")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].projectName").value("ukrposhta"));
+
+        mockMvc.perform(get("/api/v1/project/programmers/{id}", projectId)
+                        .param("fields", "salary")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void cachedResponseMustNotBeServedUnderNewEtag() throws Exception {
+
+        projectRepository.save(project);
+        managerRepository.save(manager);
+
+        // leaves the empty list in the response cache, which writes no longer evict
+        var etag = mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/v1/project/managers/add")
+                        .content(objectMapper.writeValueAsString(new UpdateManagersDTO(projectId.toString(), managerId.toString())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/project/managers/{id}", projectId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(managerId.toString()));
+    }
+
+    private String assertModified(String url, String etag) throws Exception {
+        var newEtag = mockMvc.perform(get(url, projectId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        return newEtag;
+    }
 }
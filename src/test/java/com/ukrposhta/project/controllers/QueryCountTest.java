@@ -0,0 +1,306 @@
+package com.ukrposhta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.ChangeManagerNameDTO;
+import com.ukrposhta.project.dto.ChangeProgrammerSkillLevelDTO;
+import com.ukrposhta.project.dto.ChangeProjectNameDTO;
+import com.ukrposhta.project.dto.CreateManagerDTO;
+import com.ukrposhta.project.dto.CreateProgrammerDTO;
+import com.ukrposhta.project.dto.CreateProjectDTO;
+import com.ukrposhta.project.dto.UpdateProgrammersDTO;
+import com.ukrposhta.project.dto.UpdateProjectsDTO;
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.entities.Programmer;
+import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every GET endpoint must run a fixed number of statements however many
+ * managers, programmers and projects hang off the requested entity, and
+ * creating an entity must be a single INSERT with no SELECT before it.
+ * Deletes must not load the entity or any of its collections.
+ */
+@SpringBootTest(properties = "app.known-ids.enabled=true")
+@AutoConfigureMockMvc
+@Import(QueryCountTest.ConnectionCounting.class)
+public class QueryCountTest {
+
+    private static final AtomicInteger connections = new AtomicInteger();
+
+    private static final int FAN_OUT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProgrammerRepository programmerRepository;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private UUID projectId;
+    private UUID managerId;
+    private UUID programmerId;
+
+    @BeforeEach
+    public void initEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+
+        var projects = new HashSet<Project>();
+        for (int i = 0; i < FAN_OUT; i++) {
+            projects.add(projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("project-" + i)
+                    .managers(new HashSet<>()).programmers(new HashSet<>()).build()));
+        }
+        projectId = projects.iterator().next().getId();
+
+        for (int i = 0; i < FAN_OUT; i++) {
+            var manager = managerRepository.save(Manager.builder().id(UUID.randomUUID()).name("manager-" + i)
+                    .projects(new HashSet<>(projects)).build());
+            var programmer = programmerRepository.save(Programmer.builder().id(UUID.randomUUID()).name("programmer-" + i)
+                    .skillLevel(SkillLevel.MIDDLE).type(ProgrammerType.DEVELOPER)
+                    .projects(new HashSet<>(projects)).build());
+            managerId = manager.getId();
+            programmerId = programmer.getId();
+        }
+    }
+
+    @Test
+    public void managerEndpointsMustRunAFixedNumberOfStatements() throws Exception {
+        assertStatements(1, "/api/v1/manager/{id}", managerId);
+        assertStatements(1, "/api/v1/manager/projects/{id}", managerId);
+        assertStatements(1, "/api/v1/manager");
+    }
+
+    @Test
+    public void programmerEndpointsMustRunAFixedNumberOfStatements() throws Exception {
+        assertStatements(1, "/api/v1/programmer/{id}", programmerId);
+        assertStatements(1, "/api/v1/programmer/projects/{id}", programmerId);
+        assertStatements(1, "/api/v1/programmer");
+    }
+
+    @Test
+    public void projectEndpointsMustRunAFixedNumberOfStatements() throws Exception {
+        assertStatements(1, "/api/v1/project/{id}", projectId);
+        assertStatements(1, "/api/v1/project/managers/{id}", projectId);
+        assertStatements(1, "/api/v1/project/programmers/{id}", projectId);
+        assertStatements(1, "/api/v1/project");
+    }
+
+    @Test
+    public void dashboardMustRunOneStatementPerSection() throws Exception {
+        // project, managers and programmers through Hibernate; staffing is one more JDBC read
+        assertStatements(3, "/api/v1/project/dashboard/{id}", projectId);
+    }
+
+    @Test
+    public void sparseFieldsMustSkipUnrequestedRelations() throws Exception {
+        assertStatements(1, "/api/v1/manager/{id}?fields=id,name", managerId);
+        assertStatements(2, "/api/v1/manager/{id}?expand=projects", managerId);
+        assertStatements(1, "/api/v1/programmer/{id}?fields=skillLevel,type", programmerId);
+        assertStatements(1, "/api/v1/project/{id}?fields=projectName", projectId);
+        assertStatements(3, "/api/v1/project/{id}?expand=managers,programmers", projectId);
+    }
+
+    @Test
+    public void notModifiedMustBeAnsweredFromTheVersionAlone() throws Exception {
+        assertNotModifiedLoadsNothing("/api/v1/manager/{id}", managerId);
+        assertNotModifiedLoadsNothing("/api/v1/programmer/projects/{id}", programmerId);
+        assertNotModifiedLoadsNothing("/api/v1/project/managers/{id}", projectId);
+    }
+
+    @Test
+    public void unknownIdsMustBeRejectedWithoutAConnection() throws Exception {
+        var unknown = UUID.randomUUID();
+        assertNotFoundWithoutAConnection("/api/v1/manager/{id}", unknown);
+        assertNotFoundWithoutAConnection("/api/v1/programmer/projects/{id}", unknown);
+        assertNotFoundWithoutAConnection("/api/v1/project/{id}?expand=managers", unknown);
+
+        mockMvc.perform(delete("/api/v1/manager/{id}", managerId)).andExpect(status().isOk());
+        assertNotFoundWithoutAConnection("/api/v1/manager/{id}", managerId);
+    }
+
+    @Test
+    public void emptyMembershipListsMustCostOneExtraExistenceCheck() throws Exception {
+        var emptyProject = projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("empty")
+                .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+
+        assertStatements(2, "/api/v1/project/managers/{id}", emptyProject.getId());
+        assertStatements(2, "/api/v1/project/programmers/{id}", emptyProject.getId());
+    }
+
+    @Test
+    public void createMustInsertWithoutSelectingFirst() throws Exception {
+        assertCreateStatements("/api/v1/manager/new", new CreateManagerDTO("Alex"));
+        assertCreateStatements("/api/v1/programmer/new",
+                new CreateProgrammerDTO("Alex", SkillLevel.JUNIOR, ProgrammerType.QA));
+        assertCreateStatements("/api/v1/project/new", new CreateProjectDTO("ukrposhta"));
+    }
+
+    @Test
+    public void mutationsMustCheckOutOneConnection() throws Exception {
+        var project = projectRepository.save(Project.builder().id(UUID.randomUUID()).projectName("mutated")
+                .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+
+        assertConnections("/api/v1/manager/projects/add", new UpdateProjectsDTO(managerId.toString(), project.getId().toString()));
+        assertConnections("/api/v1/manager/projects/remove", new UpdateProjectsDTO(managerId.toString(), project.getId().toString()));
+        assertConnections("/api/v1/project/programmers/add", new UpdateProgrammersDTO(project.getId().toString(), programmerId.toString()));
+        assertConnections("/api/v1/manager/name", new ChangeManagerNameDTO(managerId.toString(), "renamed"));
+        assertConnections("/api/v1/programmer/skill", new ChangeProgrammerSkillLevelDTO(programmerId.toString(), SkillLevel.SENIOR));
+        assertConnections("/api/v1/project/name", new ChangeProjectNameDTO(project.getId().toString(), "renamed"));
+
+        connections.set(0);
+        mockMvc.perform(delete("/api/v1/manager/{id}", managerId)).andExpect(status().isOk());
+        assertEquals(1, connections.get(), "connections for delete");
+    }
+
+    @Test
+    public void deletesMustNotHydrateEntitiesOrCollections() throws Exception {
+        assertDeleteLoadsNothing("/api/v1/project/{id}", projectId);
+        assertDeleteLoadsNothing("/api/v1/manager/{id}", managerId);
+        assertDeleteLoadsNothing("/api/v1/programmer/{id}", programmerId);
+    }
+
+    private void assertConnections(String url, Object body) throws Exception {
+        connections.set(0);
+
+        mockMvc.perform(post(url)
+                        .content(objectMapper.writeValueAsString(body))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertEquals(1, connections.get(), "connections for " + url);
+    }
+
+    private void assertNotModifiedLoadsNothing(String url, UUID id) throws Exception {
+        var etag = mockMvc.perform(get(url, id)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+        connections.set(0);
+
+        mockMvc.perform(get(url, id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // the version lookup is plain JDBC, so Hibernate sees no statements at all
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements for " + url);
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded for " + url);
+        assertEquals(1, connections.get(), "connections for " + url);
+    }
+
+    private void assertNotFoundWithoutAConnection(String url, UUID id) throws Exception {
+        statistics.clear();
+        connections.set(0);
+
+        mockMvc.perform(get(url, id)).andExpect(status().isNotFound());
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements for " + url);
+        assertEquals(0, connections.get(), "connections for " + url);
+    }
+
+    private void assertDeleteLoadsNothing(String url, UUID id) throws Exception {
+        statistics.clear();
+        connections.set(0);
+
+        mockMvc.perform(delete(url, id)).andExpect(status().isOk());
+
+        assertEquals(0, statistics.getEntityLoadCount(), "loads for " + url);
+        assertEquals(0, statistics.getCollectionLoadCount(), "collection loads for " + url);
+        assertEquals(1, connections.get(), "connections for " + url);
+    }
+
+    private void assertCreateStatements(String url, Object body) throws Exception {
+        statistics.clear();
+        connections.set(0);
+
+        mockMvc.perform(post(url)
+                        .content(objectMapper.writeValueAsString(body))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        assertEquals(0, statistics.getEntityLoadCount(), "loads for " + url);
+        assertEquals(1, statistics.getEntityInsertCount(), "inserts for " + url);
+        assertEquals(1, statistics.getPrepareStatementCount(), "statements for " + url);
+        assertEquals(1, connections.get(), "connections for " + url);
+    }
+
+    private void assertStatements(long expected, String url, Object... uriVars) throws Exception {
+        statistics.clear();
+        connections.set(0);
+
+        mockMvc.perform(get(url, uriVars).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertEquals(expected, statistics.getPrepareStatementCount(), "statements for " + url);
+        assertEquals(1, connections.get(), "connections for " + url);
+    }
+
+    /**
+     * Counts connection checkouts from the pool.
+     */
+    @TestConfiguration
+    static class ConnectionCounting {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            connections.incrementAndGet();
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
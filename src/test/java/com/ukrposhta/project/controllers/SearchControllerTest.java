@@ -0,0 +1,115 @@
+package com.ukrposhta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.ChangeManagerNameDTO;
+import com.ukrposhta.project.dto.CreateManagerDTO;
+import com.ukrposhta.project.dto.CreateProjectDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void mustFindManagerByWordPrefixAndRankExactMatchFirst() throws Exception {
+        var managerId = createManager("Zebediah Quartermaine");
+        var projectId = createProject("Zebediah");
+
+        mockMvc.perform(get("/api/v1/search").param("q", "quarter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(managerId))
+                .andExpect(jsonPath("$[0].type").value("MANAGER"));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "zebediah"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(projectId))
+                .andExpect(jsonPath("$[1].id").value(managerId));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "zebediah").param("types", "PROJECT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(managerId))));
+    }
+
+    @Test
+    public void mustMatchEveryWordOfMultiWordQuery() throws Exception {
+        var managerId = createManager("Ignatius Fairweather");
+        var otherId = createManager("Ignatius Fairbanks");
+
+        mockMvc.perform(get("/api/v1/search").param("q", "ignatius fairw"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(managerId))
+                .andExpect(jsonPath("$[0].score", greaterThan(2.0)))
+                .andExpect(jsonPath("$[1].id").value(otherId))
+                .andExpect(jsonPath("$[1].score", lessThan(1.0)));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "fairweather ign"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(managerId))
+                .andExpect(jsonPath("$[0].score", greaterThan(1.0)));
+    }
+
+    @Test
+    public void mustFindNameWithTypo() throws Exception {
+        var managerId = createManager("Wolfenstein");
+
+        mockMvc.perform(get("/api/v1/search").param("q", "wolfenstien"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(managerId)));
+    }
+
+    @Test
+    public void mustFollowRenameAndDelete() throws Exception {
+        var managerId = createManager("Xanthippe");
+
+        mockMvc.perform(post("/api/v1/manager/name")
+                        .content(objectMapper.writeValueAsString(new ChangeManagerNameDTO(managerId, "Yolanda Yarrow")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/search").param("q", "xanth"))
+                .andExpect(jsonPath("$[*].id", not(hasItem(managerId))));
+        mockMvc.perform(get("/api/v1/search").param("q", "yarr"))
+                .andExpect(jsonPath("$[*].id", hasItem(managerId)));
+
+        mockMvc.perform(delete("/api/v1/manager/" + managerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/search").param("q", "yarr"))
+                .andExpect(jsonPath("$[*].id", not(hasItem(managerId))));
+    }
+
+    private String createManager(String name) throws Exception {
+        return mockMvc.perform(post("/api/v1/manager/new")
+                        .content(objectMapper.writeValueAsString(new CreateManagerDTO(name)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String createProject(String name) throws Exception {
+        return mockMvc.perform(post("/api/v1/project/new")
+                        .content(objectMapper.writeValueAsString(new CreateProjectDTO(name)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
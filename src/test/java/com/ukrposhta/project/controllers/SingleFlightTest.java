@@ -0,0 +1,153 @@
+package com.ukrposhta.project.controllers;
+
+import com.ukrposhta.project.cache.ResponseCache;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.ProgrammerRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import com.ukrposhta.project.repositories.VersionRepository;
+import com.ukrposhta.project.services.ProgrammerService;
+import com.ukrposhta.project.services.ProjectService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private VersionRepository versionRepository;
+
+    @SpyBean
+    private ProjectRepository projectRepository;
+
+    @SpyBean
+    private ProgrammerRepository programmerRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProgrammerService programmerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void concurrentGetsOfOneProjectMustReadTheVersionOnce() throws Exception {
+        var projectId = UUID.fromString(projectService.createProject("ukrposhta"));
+        holdVersionReadUntilEveryCallerWaits(ResponseCache.PROJECT);
+
+        var loads = count("singleflight.loads", ResponseCache.PROJECT);
+        var suppressed = count("singleflight.suppressed", ResponseCache.PROJECT);
+
+        var responses = performConcurrently(get("/api/v1/project/{id}", projectId));
+
+        verify(versionRepository, times(1)).findVersion(EntityType.PROJECT, projectId);
+        verify(projectRepository, times(1)).findById(projectId);
+        responses.forEach(response -> {
+            assertEquals(200, response.getStatus());
+            assertEquals(responses.get(0).getHeader(HttpHeaders.ETAG), response.getHeader(HttpHeaders.ETAG));
+        });
+        assertEquals(loads + 1, count("singleflight.loads", ResponseCache.PROJECT));
+        assertEquals(suppressed + CALLERS - 1, count("singleflight.suppressed", ResponseCache.PROJECT));
+    }
+
+    @Test
+    public void waitersMustAnswerTheirOwnConditionalHeadersFromTheSharedVersion() throws Exception {
+        var projectId = projectService.createProject("ukrposhta");
+        var programmerId = programmerService.createProgrammer("Antony", SkillLevel.MIDDLE, ProgrammerType.DEVELOPER);
+        projectService.addProgrammersToProject(projectId, programmerId);
+
+        var url = "/api/v1/project/programmers/{id}";
+        var etag = mockMvc.perform(get(url, projectId)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        holdVersionReadUntilEveryCallerWaits(ResponseCache.PROJECT_PROGRAMMERS);
+
+        var responses = performConcurrently(get(url, projectId).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        verify(versionRepository, times(2)).findVersion(EntityType.PROJECT, UUID.fromString(projectId));
+        verify(programmerRepository, times(1)).findSummariesByProjectId(UUID.fromString(projectId));
+        responses.forEach(response -> assertEquals(304, response.getStatus()));
+    }
+
+    /**
+     * Holds the first version read until every other caller has joined its flight.
+     */
+    private void holdVersionReadUntilEveryCallerWaits(String endpoint) throws Exception {
+        var read = mockingDetails(versionRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (waiters(endpoint) < CALLERS - 1) {
+                if (System.nanoTime() > deadline) {
+                    fail("Only " + waiters(endpoint) + " callers joined the read");
+                }
+                Thread.sleep(5);
+            }
+            return read.answer(invocation);
+        }).when(versionRepository).findVersion(eq(EntityType.PROJECT), any(UUID.class));
+    }
+
+    private double waiters(String name) {
+        var gauge = meterRegistry.find("singleflight.waiters").tag("name", name).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private double count(String meter, String name) {
+        var counter = meterRegistry.find(meter).tag("name", name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private List<MockHttpServletResponse> performConcurrently(RequestBuilder request) throws Exception {
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<MockHttpServletResponse>>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(request).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            var responses = new ArrayList<MockHttpServletResponse>();
+            for (var future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ukrposhta.project.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.net.ConnectException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30), Clock.systemUTC());
+
+    @BeforeEach
+    public void readOnlyTransaction() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @AfterEach
+    public void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RoutingContext.clear();
+    }
+
+    @Test
+    public void busyReplicaMustBeTriedAgainOnTheNextRead() throws SQLException {
+        when(replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"))
+                .thenReturn(replicaConnection);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(replicaConnection, routing.getConnection());
+        assertTrue(RoutingContext.isReplicaRead());
+    }
+
+    @Test
+    public void unreachableReplicaMustBeSkipped() throws SQLException {
+        when(replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available",
+                        new SQLException("Connection refused", new ConnectException())))
+                .thenReturn(replicaConnection);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    public void connectionWithCredentialsMustComeFromThePrimary() throws SQLException {
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routing.getConnection("reporting", "secret"));
+    }
+}
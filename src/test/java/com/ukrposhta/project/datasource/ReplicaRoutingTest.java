@@ -0,0 +1,156 @@
+package com.ukrposhta.project.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.cache.CacheNames;
+import com.ukrposhta.project.dto.CreateManagerDTO;
+import com.ukrposhta.project.dto.CreateProjectDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded databases stand in for primary and replica; they are not replicated,
+ * so a row that exists in only one of them shows where a request was served from.
+ * The first replica is unreachable and must be skipped.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:tcp://localhost:1/unreachable",
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[1].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.routing.replicas[1].username=sa"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @Test
+    public void readOnlyRequestsMustBeServedByAHealthyReplica() throws Exception {
+        var replicaOnly = UUID.randomUUID();
+        replica.update("insert into manager (id, name) values (?, ?)", replicaOnly, "Replica only");
+
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/api/v1/manager").param("size", "500"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].id", hasItem(replicaOnly.toString())));
+        }
+    }
+
+    @Test
+    public void writesMustGoToThePrimaryAndBeReadableByTheWriter() throws Exception {
+        var response = mockMvc.perform(post("/api/v1/manager/new")
+                        .content(objectMapper.writeValueAsString(new CreateManagerDTO("Primary only")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn().getResponse();
+        var managerId = response.getContentAsString();
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId).header(ReadYourWritesFilter.HEADER, "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Primary only"));
+
+        mockMvc.perform(get("/api/v1/manager/projects/{id}", managerId)
+                        .cookie(response.getCookie(ReadYourWritesFilter.COOKIE)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void replicaReadsMustNotFillTheCachesPinnedClientsReadFrom() throws Exception {
+        var response = mockMvc.perform(post("/api/v1/manager/new")
+                        .content(objectMapper.writeValueAsString(new CreateManagerDTO("Current")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        var managerId = response.getContentAsString();
+        replica.update("insert into manager (id, name) values (?, ?)", UUID.fromString(managerId), "Lagging");
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Lagging"));
+
+        mockMvc.perform(get("/api/v1/manager/{id}", managerId)
+                        .cookie(response.getCookie(ReadYourWritesFilter.COOKIE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Current"));
+    }
+
+    @Test
+    public void streamedResponsesOfPinnedClientsMustBeServedByThePrimary() throws Exception {
+        var response = mockMvc.perform(post("/api/v1/project/new")
+                        .content(objectMapper.writeValueAsString(new CreateProjectDTO("Exported from primary")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        var projectId = response.getContentAsString();
+
+        var started = mockMvc.perform(get("/api/v1/export/projects")
+                        .cookie(response.getCookie(ReadYourWritesFilter.COOKIE)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains(projectId));
+    }
+
+    @Test
+    public void scheduledTasksMustNotLeaveTheRoutingContextOnTheSchedulerThread() throws Exception {
+        taskScheduler.submit(RoutingContext::forcePrimary).get();
+
+        assertFalse(taskScheduler.submit(RoutingContext::isPrimaryForced).get());
+    }
+
+    @Test
+    public void cacheMetricsMustStillBeBound() {
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", CacheNames.RESPONSES).functionCounter());
+    }
+}
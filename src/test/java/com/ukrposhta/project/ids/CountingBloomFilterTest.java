@@ -0,0 +1,71 @@
+package com.ukrposhta.project.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountingBloomFilterTest {
+
+    private static final int IDS = 20_000;
+
+    @Test
+    public void addedIdsMustAlwaysMatchAndOthersRarely() {
+        var filter = new CountingBloomFilter(IDS, 0.01);
+        var generator = new TimeOrderedIdGenerator(Clock.systemUTC());
+
+        var added = new ArrayList<UUID>();
+        for (int i = 0; i < IDS; i++) {
+            added.add(generator.next());
+        }
+        added.forEach(filter::add);
+        added.forEach(id -> assertTrue(filter.mightContain(id)));
+
+        var falsePositives = 0;
+        for (int i = 0; i < IDS; i++) {
+            if (filter.mightContain(generator.next())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < IDS * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void removedIdsMustNotMatchWhileOthersStill() {
+        var filter = new CountingBloomFilter(IDS, 0.01);
+        var kept = new ArrayList<UUID>();
+        var removed = new ArrayList<UUID>();
+        for (int i = 0; i < IDS / 2; i++) {
+            kept.add(UUID.randomUUID());
+            removed.add(UUID.randomUUID());
+        }
+        kept.forEach(filter::add);
+        removed.forEach(filter::add);
+
+        removed.forEach(filter::remove);
+
+        kept.forEach(id -> assertTrue(filter.mightContain(id)));
+        assertTrue(removed.stream().filter(filter::mightContain).count() < IDS * 0.01);
+    }
+
+    @Test
+    public void saturatedCountersMustNotUnderflow() {
+        var filter = new CountingBloomFilter(1, 0.5);
+        var id = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            filter.add(id);
+        }
+        for (int i = 0; i < 19; i++) {
+            filter.remove(id);
+        }
+        assertTrue(filter.mightContain(id));
+
+        var other = new CountingBloomFilter(IDS, 0.01);
+        other.remove(id);
+        assertFalse(other.mightContain(id));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ukrposhta.project.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void idsMustBeVersion7AndEmbedTheTimestamp() {
+        var now = Instant.parse("2026-01-01T00:00:00Z");
+        var id = new TimeOrderedIdGenerator(Clock.fixed(now, ZoneOffset.UTC)).next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(now.toEpochMilli(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void idsMustIncreaseEvenWithinOneMillisecond() {
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 20_000; i++) {
+            var next = generator.next();
+            // compare as PostgreSQL does: unsigned, byte by byte
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+    }
+}
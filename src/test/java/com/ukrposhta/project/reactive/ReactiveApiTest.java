@@ -0,0 +1,177 @@
+package com.ukrposhta.project.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ukrposhta.project.dto.*;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReactiveApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebTestClient webTestClient;
+
+    private String managerId;
+    private String programmerId;
+    private List<String> projectIds;
+
+    @BeforeEach
+    public void initEach() throws Exception {
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveServer.getPort()).build();
+
+        managerId = create("/api/v1/manager/new", new CreateManagerDTO("Alex"));
+        programmerId = create("/api/v1/programmer/new", new CreateProgrammerDTO("Antony", SkillLevel.MIDDLE, ProgrammerType.QA));
+        projectIds = List.of(create("/api/v1/project/new", new CreateProjectDTO("ukrposhta")),
+                create("/api/v1/project/new", new CreateProjectDTO("nova poshta")),
+                create("/api/v1/project/new", new CreateProjectDTO("meest")));
+        for (var projectId : projectIds) {
+            send("/api/v1/manager/projects/add", new UpdateProjectsDTO(managerId, projectId));
+            send("/api/v1/programmer/projects/add", new UpdateProjectsDTO(programmerId, projectId));
+        }
+    }
+
+    @Test
+    public void entityReadsMustMatchTheMvcApi() throws Exception {
+        var projectId = projectIds.get(0);
+        for (var path : List.of("/api/v1/manager/" + managerId, "/api/v1/manager/projects/" + managerId,
+                "/api/v1/programmer/" + programmerId, "/api/v1/programmer/projects/" + programmerId,
+                "/api/v1/project/" + projectId, "/api/v1/project/managers/" + projectId,
+                "/api/v1/project/programmers/" + projectId)) {
+            var mvc = mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn();
+            var reactive = webTestClient.get().uri(path).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody().returnResult();
+
+            assertEquals(json(mvc), objectMapper.readTree(reactive.getResponseBody()), path);
+            assertEquals(mvc.getResponse().getHeader(HttpHeaders.ETAG), reactive.getResponseHeaders().getETag(), path);
+        }
+    }
+
+    @Test
+    public void pagesMustMatchTheMvcApi() throws Exception {
+        String after = null;
+        for (int page = 0; page < 3 && (page == 0 || after != null); page++) {
+            var path = "/api/v1/project?size=2" + (after == null ? "" : "&after=" + after);
+            var mvc = json(mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn());
+            var reactive = webTestClient.get().uri(path).exchange()
+                    .expectStatus().isOk()
+                    .expectBody(JsonNode.class).returnResult().getResponseBody();
+
+            assertEquals(mvc, reactive);
+            after = mvc.get("nextCursor").isNull() ? null : mvc.get("nextCursor").asText();
+        }
+    }
+
+    @Test
+    public void batchMustMatchTheMvcApi() throws Exception {
+        var batch = new BatchGetDTO(List.of(projectIds.get(2), "not-a-uuid", UUID.randomUUID().toString(), projectIds.get(0)));
+        var mvc = json(mockMvc.perform(post("/api/v1/project/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn());
+        var reactive = webTestClient.post().uri("/api/v1/project/batch").bodyValue(batch).exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+
+        assertEquals(mvc, reactive);
+        assertEquals(2, reactive.get("found").size());
+    }
+
+    @Test
+    public void unchangedEntityMustBeAnsweredWithNotModified() throws Exception {
+        var etag = webTestClient.get().uri("/api/v1/manager/" + managerId).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        webTestClient.get().uri("/api/v1/manager/" + managerId).ifNoneMatch(etag).exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/v1/manager/projects/" + managerId).ifNoneMatch(etag).exchange()
+                .expectStatus().isNotModified();
+
+        send("/api/v1/manager/name", new ChangeManagerNameDTO(managerId, "Oleksii"));
+
+        var changed = webTestClient.get().uri("/api/v1/manager/" + managerId).ifNoneMatch(etag).exchange()
+                .expectStatus().isOk()
+                .expectBody(ManagerViewDTO.class).returnResult();
+        assertEquals("Oleksii", changed.getResponseBody().name());
+        assertNotEquals(etag, changed.getResponseHeaders().getETag());
+    }
+
+    @Test
+    public void unknownIdMustBeNotFound() {
+        webTestClient.get().uri("/api/v1/project/managers/" + UUID.randomUUID()).exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectBody().jsonPath("$.message").isEqualTo("Data doesn't match");
+    }
+
+    @Test
+    public void memberListMustOnlyBeReadAsItIsRequested() {
+        var projects = new ReactiveProjectRepository(reactiveDatabaseClient, 1)
+                .findSummariesByManagerId(UUID.fromString(managerId));
+
+        StepVerifier.create(projects, 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    private String create(String path, Object body) throws Exception {
+        return send(path, body).getResponse().getContentAsString();
+    }
+
+    private MvcResult send(String path, Object body) throws Exception {
+        return mockMvc.perform(post(path)
+                        .content(objectMapper.writeValueAsString(body))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
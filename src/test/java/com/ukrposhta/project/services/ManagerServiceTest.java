@@ -0,0 +1,233 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.entities.Manager;
+import com.ukrposhta.project.entities.Project;
+import com.ukrposhta.project.enums.EntityType;
+import com.ukrposhta.project.exceptions.ManagerNotFoundException;
+import com.ukrposhta.project.repositories.ManagerRepository;
+import com.ukrposhta.project.repositories.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+public class ManagerServiceTest {
+
+    private static final int THREADS = 16;
+    private static final int PROJECTS = 64;
+
+    @Autowired
+    private ManagerService managerService;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VersionService versionService;
+
+    @Autowired
+    private StaffingService staffingService;
+
+    private UUID managerId;
+    private List<UUID> projectIds;
+
+    @BeforeEach
+    public void initEach() {
+        managerId = UUID.randomUUID();
+        managerRepository.save(Manager.builder().id(managerId).name("Alex")
+                .projects(new HashSet<>()).build());
+
+        projectIds = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            var projectId = UUID.randomUUID();
+            projectRepository.save(Project.builder().id(projectId).projectName("project-" + i)
+                    .managers(new HashSet<>()).programmers(new HashSet<>()).build());
+            projectIds.add(projectId);
+        }
+    }
+
+    @Test
+    public void concurrentAddsToOneManagerMustKeepEveryProjectExactlyOnce() throws Exception {
+
+        // every project is added by two different threads, so writes both race and repeat
+        runConcurrently(THREADS, 2 * PROJECTS, i ->
+                managerService.addProject(managerId.toString(), projectIds.get(i % PROJECTS).toString()));
+
+        assertEquals(PROJECTS, countMemberships());
+    }
+
+    @Test
+    public void concurrentAddsAndRemovesOnOneManagerMustNotLoseWrites() throws Exception {
+
+        projectIds.forEach(projectId -> managerService.addProject(managerId.toString(), projectId.toString()));
+
+        // remove the even projects while re-adding the odd ones
+        runConcurrently(THREADS, PROJECTS, i -> {
+            var projectId = projectIds.get(i).toString();
+            if (i % 2 == 0) {
+                managerService.removeProject(managerId.toString(), projectId);
+            } else {
+                managerService.addProject(managerId.toString(), projectId);
+            }
+        });
+
+        assertEquals(PROJECTS / 2, countMemberships());
+    }
+
+    @Test
+    public void renameAndMembershipChangeInOneTransactionMustEachBumpTheVersion() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            managerService.changeName(managerId.toString(), "Martin");
+            projectService.bulkAddManagersToProject(projectIds.get(0).toString(), List.of(managerId.toString()));
+        });
+
+        assertEquals(2, jdbcTemplate.queryForObject("select version from manager where id = ?", Long.class, managerId));
+        assertEquals(1, jdbcTemplate.queryForObject("select version from project where id = ?", Long.class,
+                projectIds.get(0)));
+    }
+
+    @Test
+    public void memberRenameMustChangeTheVersionOfItsProjectsOnly() {
+        managerService.addProject(managerId.toString(), projectIds.get(0).toString());
+        var listing = versionService.getIfModified(EntityType.PROJECT, projectIds.get(0).toString(),
+                version -> false, Function.identity()).orElseThrow();
+        var other = versionService.getIfModified(EntityType.PROJECT, projectIds.get(1).toString(),
+                version -> false, Function.identity()).orElseThrow();
+
+        managerService.changeName(managerId.toString(), "Martin");
+
+        var renamed = versionService.getIfModified(EntityType.PROJECT, projectIds.get(0).toString(),
+                version -> false, Function.identity()).orElseThrow();
+        assertEquals(listing.version(), renamed.version());
+        assertNotEquals(listing.etag(), renamed.etag());
+        assertEquals(other, versionService.getIfModified(EntityType.PROJECT, projectIds.get(1).toString(),
+                version -> false, Function.identity()).orElseThrow());
+    }
+
+    @Test
+    public void concurrentMembershipChangesAndRenamesMustNotDeadlock() throws Exception {
+        var managerIds = new ArrayList<String>();
+        for (int i = 0; i < THREADS; i++) {
+            managerIds.add(managerService.createManager("manager-" + i));
+        }
+
+        // every manager joins every project while managers and projects are renamed
+        runConcurrently(THREADS, THREADS * 8, i -> {
+            var manager = managerIds.get(i % THREADS);
+            switch (i % 4) {
+                case 0 -> projectService.changeNameOfProject(projectIds.get(i % PROJECTS).toString(), "renamed-" + i);
+                case 1 -> managerService.changeName(manager, "renamed-" + i);
+                default -> projectService.bulkAddManagersToProject(projectIds.get(i % PROJECTS).toString(), managerIds);
+            }
+        });
+    }
+
+    @Test
+    public void concurrentDeletesOfOneManagerMustDeleteItOnce() throws Exception {
+        projectIds.forEach(projectId -> managerService.addProject(managerId.toString(), projectId.toString()));
+
+        var deleted = new AtomicInteger();
+        runConcurrently(THREADS, THREADS, i -> {
+            try {
+                managerService.deleteManagerById(managerId.toString());
+                deleted.incrementAndGet();
+            } catch (ManagerNotFoundException e) {
+                // another thread got there first
+            }
+        });
+
+        assertEquals(1, deleted.get());
+        assertEquals(0, countMemberships());
+    }
+
+    @Test
+    public void deletesRacingMembershipAdditionsMustNotDeadlockOrMiscount() throws Exception {
+        var projectId = projectService.createProject("ukrposhta");
+        var managerIds = new ArrayList<String>();
+        for (int i = 0; i < PROJECTS; i++) {
+            var manager = managerService.createManager("manager-" + i);
+            managerService.addProject(manager, projectIds.get(i).toString());
+            managerIds.add(manager);
+        }
+
+        // one thread deletes each manager while the other adds it to the shared project
+        runConcurrently(2, 2 * PROJECTS, i -> {
+            var manager = managerIds.get(i / 2);
+            try {
+                if (i % 2 == 0) {
+                    managerService.deleteManagerById(manager);
+                } else {
+                    managerService.addProject(manager, projectId);
+                }
+            } catch (ManagerNotFoundException | DataIntegrityViolationException e) {
+                // the manager was deleted first
+            }
+        });
+
+        assertEquals(0, managerIds.stream().filter(manager -> managerRepository.existsById(UUID.fromString(manager))).count());
+        assertEquals(0, staffingService.getStaffing(projectId).managers());
+    }
+
+    private int countMemberships() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from manager_project where manager_id = ?", Integer.class, managerId);
+    }
+
+    private static void runConcurrently(int threads, int tasks, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
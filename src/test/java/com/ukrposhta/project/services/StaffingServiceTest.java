@@ -0,0 +1,142 @@
+package com.ukrposhta.project.services;
+
+import com.ukrposhta.project.dto.ProjectStaffingDTO;
+import com.ukrposhta.project.enums.ProgrammerType;
+import com.ukrposhta.project.enums.SkillLevel;
+import com.ukrposhta.project.repositories.StaffingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class StaffingServiceTest {
+
+    @Autowired
+    private StaffingService staffingService;
+
+    @Autowired
+    private StaffingRepository staffingRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ManagerService managerService;
+
+    @Autowired
+    private ProgrammerService programmerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String projectId;
+    private String managerId;
+    private String juniorId;
+    private String seniorId;
+
+    @BeforeEach
+    public void initEach() {
+        projectId = projectService.createProject("ukrposhta");
+        managerId = managerService.createManager("Alex");
+        juniorId = programmerService.createProgrammer("Antony", SkillLevel.JUNIOR, ProgrammerType.DEVELOPER);
+        seniorId = programmerService.createProgrammer("Olena", SkillLevel.SENIOR, ProgrammerType.QA);
+    }
+
+    @Test
+    public void countersMustFollowEveryMembershipChange() {
+        managerService.addProject(managerId, projectId);
+        managerService.addProject(managerId, projectId);
+        projectService.bulkAddProgrammersToProject(projectId, List.of(juniorId, seniorId));
+        assertStaffing(1, 1, 0, 1, 1, 1, 0);
+
+        programmerService.changeSkillLevel(juniorId, SkillLevel.MIDDLE);
+        programmerService.changeProgrammerType(seniorId, ProgrammerType.DEVOPS);
+        assertStaffing(1, 0, 1, 1, 1, 0, 1);
+        var composition = staffingService.getStaffing(projectId).composition();
+        assertEquals(1, composition.get(SkillLevel.MIDDLE).get(ProgrammerType.DEVELOPER));
+        assertEquals(1, composition.get(SkillLevel.SENIOR).get(ProgrammerType.DEVOPS));
+        assertEquals(0, composition.get(SkillLevel.SENIOR).get(ProgrammerType.QA));
+
+        programmerService.removeProject(juniorId, projectId);
+        programmerService.removeProject(juniorId, projectId);
+        assertStaffing(1, 0, 0, 1, 0, 0, 1);
+
+        programmerService.deleteProgrammerById(seniorId);
+        managerService.deleteManagerById(managerId);
+        assertStaffing(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    public void reconcileMustCorrectDriftedCounters() {
+        projectService.bulkAddManagersToProject(projectId, List.of(managerId));
+        projectService.bulkAddProgrammersToProject(projectId, List.of(juniorId, seniorId));
+
+        jdbcTemplate.update("update project_staffing set managers = 7, junior_developer = 0, senior_qa = 3, middle_qa = 2"
+                        + " where project_id = ?",
+                UUID.fromString(projectId));
+
+        staffingService.reconcile();
+
+        assertStaffing(1, 1, 0, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void concurrentChangesMustNotBeCountedTwice() throws Exception {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var start = new CountDownLatch(1);
+            var tasks = new ArrayList<Future<?>>();
+            for (var i = 0; i < 4; i++) {
+                var skillLevel = i % 2 == 0 ? SkillLevel.MIDDLE : SkillLevel.SENIOR;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    projectService.bulkAddProgrammersToProject(projectId, List.of(juniorId, seniorId));
+                    programmerService.addProject(juniorId, projectId);
+                    programmerService.changeSkillLevel(juniorId, skillLevel);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var staffing = staffingService.getStaffing(projectId);
+        assertEquals(2, staffing.programmers());
+        assertEquals(countedFromJoinTables(), staffing);
+    }
+
+    private void assertStaffing(long managers, long junior, long middle, long senior,
+                                long developer, long qa, long devops) {
+        var staffing = staffingService.getStaffing(projectId);
+
+        assertEquals(managers, staffing.managers());
+        assertEquals(junior, staffing.skillLevels().get(SkillLevel.JUNIOR));
+        assertEquals(middle, staffing.skillLevels().get(SkillLevel.MIDDLE));
+        assertEquals(senior, staffing.skillLevels().get(SkillLevel.SENIOR));
+        assertEquals(developer, staffing.types().get(ProgrammerType.DEVELOPER));
+        assertEquals(qa, staffing.types().get(ProgrammerType.QA));
+        assertEquals(devops, staffing.types().get(ProgrammerType.DEVOPS));
+        assertEquals(junior + middle + senior, staffing.programmers());
+        assertEquals(countedFromJoinTables(), staffing);
+    }
+
+    private ProjectStaffingDTO countedFromJoinTables() {
+        return staffingRepository.countByProjectId(UUID.fromString(projectId)).orElseThrow();
+    }
+}